@@ -6,6 +6,7 @@ plugins {
 	id("io.spring.dependency-management") version "1.1.6"
 	id("io.freefair.lombok") version "8.6"
 	id("io.sentry.jvm.gradle") version "4.13.0"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "hexlet.code"
@@ -33,13 +34,20 @@ dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-security")
 	implementation("org.springframework.boot:spring-boot-starter-oauth2-resource-server")
 	implementation("org.postgresql:postgresql:42.7.4")
+	implementation("org.flywaydb:flyway-core")
+	runtimeOnly("org.flywaydb:flyway-database-postgresql")
 	implementation("net.javacrumbs.json-unit:json-unit-assertj:3.2.2")
 	implementation("net.datafaker:datafaker:2.0.2")
 	implementation("org.instancio:instancio-junit:3.6.0")
 	implementation("org.openapitools:jackson-databind-nullable:0.2.6")
+	implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-csv")
+	implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+	implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
 	implementation("org.mapstruct:mapstruct:1.6.0.Beta1")
 	implementation("org.apache.commons:commons-text:1.12.0")
 	implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.6.0")
+	implementation("org.roaringbitmap:RoaringBitmap:1.3.0")
+	implementation("com.github.ben-manes.caffeine:caffeine")
 
 	annotationProcessor("org.mapstruct:mapstruct-processor:1.6.0.Beta1")
 	runtimeOnly("com.h2database:h2:2.2.224")
@@ -48,10 +56,45 @@ dependencies {
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
+tasks.processResources {
+	doLast {
+		val compressible = fileTree(destinationDir.resolve("static")) {
+			include("**/*.html", "**/*.js", "**/*.css", "**/*.svg", "**/*.json")
+		}
+		val brotli = runCatching { ProcessBuilder("brotli", "--version").start().waitFor() == 0 }.getOrDefault(false)
+		if (!brotli) {
+			val message = "brotli binary not found, static assets are precompressed with gzip only"
+			if (project.hasProperty("requireBrotli")) {
+				throw GradleException(message)
+			}
+			logger.warn(message)
+		}
+		compressible.forEach { file ->
+			file.inputStream().use { input ->
+				object : java.util.zip.GZIPOutputStream(file.resolveSibling(file.name + ".gz").outputStream()) {
+					init { def.setLevel(java.util.zip.Deflater.BEST_COMPRESSION) }
+				}.use { input.copyTo(it) }
+			}
+			if (brotli) {
+				val exitCode = ProcessBuilder("brotli", "--best", "--force", "--keep", file.path).inheritIO().start().waitFor()
+				if (exitCode != 0) {
+					throw GradleException("brotli failed with exit code $exitCode for ${file.path}")
+				}
+			}
+		}
+	}
+}
+
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
 
+jmh {
+	warmupIterations = 2
+	iterations = 5
+	fork = 1
+}
+
 tasks.jacocoTestReport { reports { xml.required.set(true) } }
 
 sentry {
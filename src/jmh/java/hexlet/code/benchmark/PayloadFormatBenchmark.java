@@ -0,0 +1,103 @@
+package hexlet.code.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.config.JacksonConfig;
+import hexlet.code.dto.task.TaskDTO;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the wire formats offered by content negotiation on a task listing.
+ * The encodedSize benchmark reports the payload size of each format as the "bytes" counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadFormatBenchmark {
+    private static final TypeReference<List<TaskDTO>> TASK_LIST = new TypeReference<>() { };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"1000"})
+    private int taskCount;
+
+    private ObjectMapper mapper;
+    private List<TaskDTO> tasks;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        var builder = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> Jackson2ObjectMapperBuilder.json();
+        };
+        mapper = JacksonConfig.configure(builder).build();
+
+        var random = new Random(42);
+        tasks = new ArrayList<>(taskCount);
+        for (var i = 0; i < taskCount; i++) {
+            var task = new TaskDTO();
+            task.setId(i + 1);
+            task.setVersion((long) random.nextInt(10));
+            task.setIndex(random.nextInt(10_000));
+            task.setAssigneeId((long) random.nextInt(100) + 1);
+            task.setTitle("Task " + i + " imported from the legacy tracker");
+            task.setContent("Reproduce the issue, write a failing test and fix it. Reference #" + random.nextInt());
+            task.setStatus(random.nextBoolean() ? "to_review" : "published");
+            task.setTaskLabelIds(Set.of((long) random.nextInt(20) + 1, (long) random.nextInt(20) + 21));
+            task.setCreatedAt(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365)));
+            tasks.add(task);
+        }
+        payload = mapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public List<TaskDTO> deserialize() throws IOException {
+        return mapper.readValue(payload, TASK_LIST);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(1)
+    @Threads(1)
+    public void encodedSize(PayloadSize size) throws IOException {
+        size.bytes = mapper.writeValueAsBytes(tasks).length;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long bytes;
+    }
+}
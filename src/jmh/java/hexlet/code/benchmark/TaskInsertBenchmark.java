@@ -0,0 +1,86 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.AppApplication;
+import hexlet.code.dto.task.TaskBatchResultDTO;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.model.Label;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures bulk task inserts through the batch endpoint's service. {@code idOptimizer=pooled} is the
+ * configured allocation of 50 ids per sequence call; {@code none} makes Hibernate call the sequence for
+ * every row, which costs the same round trips as an allocation size of 1.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskInsertBenchmark {
+    @Param({"1000"})
+    private int batchSize;
+
+    @Param({"pooled", "none"})
+    private String idOptimizer;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private String status;
+    private Long assigneeId;
+    private Set<Long> labelIds;
+    private int sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AppApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=" + idOptimizer)
+                .run();
+        taskService = context.getBean(TaskService.class);
+        status = context.getBean(TaskStatusRepository.class).findAll().getFirst().getSlug();
+        assigneeId = context.getBean(UserRepository.class).findAll().getFirst().getId();
+        labelIds = context.getBean(LabelRepository.class).findAll().stream()
+                .map(Label::getId)
+                .collect(Collectors.toSet());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskBatchResultDTO> createBatch() {
+        var items = new ArrayList<TaskCreateDTO>(batchSize);
+        for (var i = 0; i < batchSize; i++) {
+            var item = new TaskCreateDTO();
+            item.setTitle("imported task " + sequence++);
+            item.setStatus(status);
+            item.setAssigneeId(assigneeId);
+            item.setTaskLabelIds(labelIds);
+            items.add(item);
+        }
+        return taskService.createAll(items);
+    }
+}
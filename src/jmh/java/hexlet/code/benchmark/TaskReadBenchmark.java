@@ -0,0 +1,93 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.AppApplication;
+import hexlet.code.dto.FieldSelection;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskParamsDTO;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.model.Task;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.specification.TaskSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskReadBenchmark {
+    @Param({"1000", "10000"})
+    private int taskCount;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private TaskMapper taskMapper;
+    private TaskSpecification specBuilder;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AppApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false")
+                .run();
+        taskRepository = context.getBean(TaskRepository.class);
+        taskMapper = context.getBean(TaskMapper.class);
+        specBuilder = context.getBean(TaskSpecification.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        var status = context.getBean(TaskStatusRepository.class).findAll().getFirst();
+        var assignee = context.getBean(UserRepository.class).findAll().getFirst();
+        var labels = new HashSet<>(context.getBean(LabelRepository.class).findAll());
+        var tasks = new ArrayList<Task>(taskCount);
+        for (var i = 0; i < taskCount; i++) {
+            var task = new Task();
+            task.setName("Task " + i);
+            task.setIndex(i);
+            task.setDescription("Description of task " + i);
+            task.setTaskStatus(status);
+            task.setAssignee(assignee);
+            task.setLabels(labels);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskDTO> entityPath() {
+        var spec = specBuilder.buildPage(new TaskParamsDTO());
+        return transactionTemplate.execute(status -> taskRepository.findAll(spec).stream()
+                .map(taskMapper::map)
+                .toList());
+    }
+
+    @Benchmark
+    public List<TaskDTO> projectionPath() {
+        var spec = specBuilder.buildPage(new TaskParamsDTO());
+        return taskRepository.findAllProjected(spec, null, FieldSelection.ALL);
+    }
+}
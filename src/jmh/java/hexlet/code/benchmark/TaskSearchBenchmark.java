@@ -0,0 +1,106 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.AppApplication;
+import hexlet.code.dto.FieldSelection;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskParamsDTO;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.specification.TaskSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs against the in-memory H2 database by default. To measure the trigram index,
+ * start it with -Dspring.profiles.active=production and JDBC_DATABASE_URL set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskSearchBenchmark {
+    private static final int BATCH_SIZE = 10_000;
+    private static final List<String> WORDS = List.of(
+            "deploy", "fix", "review", "login", "board", "export", "import", "cache",
+            "index", "search", "label", "status", "report", "invoice", "backup", "sprint"
+    );
+
+    @Param({"1000000"})
+    private int taskCount;
+
+    @Param({"invoice", "port bac"})
+    private String titleCont;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private TaskSpecification specBuilder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AppApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false")
+                .run();
+        taskRepository = context.getBean(TaskRepository.class);
+        specBuilder = context.getBean(TaskSpecification.class);
+
+        var statusId = context.getBean(TaskStatusRepository.class).findAll().getFirst().getId();
+        var assigneeId = context.getBean(UserRepository.class).findAll().getFirst().getId();
+        var jdbc = context.getBean(JdbcTemplate.class);
+        var random = new Random(42);
+        var rows = new ArrayList<Object[]>(BATCH_SIZE);
+        for (var i = 0; i < taskCount; i++) {
+            var name = WORDS.get(random.nextInt(WORDS.size())) + " "
+                    + WORDS.get(random.nextInt(WORDS.size())) + " " + i;
+            rows.add(new Object[] {name, statusId, assigneeId});
+            if (rows.size() == BATCH_SIZE || i == taskCount - 1) {
+                jdbc.batchUpdate("INSERT INTO tasks (name, task_status_id, assignee_id) VALUES (?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskDTO> firstPage() {
+        var params = new TaskParamsDTO();
+        params.setTitleCont(titleCont);
+        return taskRepository.findAllProjected(specBuilder.buildPage(params), 50, FieldSelection.ALL);
+    }
+
+    @Benchmark
+    public List<TaskDTO> rankedFirstPage() {
+        var params = new TaskParamsDTO();
+        params.setTitleCont(titleCont);
+        params.setSort("relevance");
+        return taskRepository.findAllProjected(specBuilder.buildPage(params), 50, FieldSelection.ALL);
+    }
+
+    @Benchmark
+    public long count() {
+        var params = new TaskParamsDTO();
+        params.setTitleCont(titleCont);
+        return taskRepository.count(specBuilder.build(params));
+    }
+}
@@ -0,0 +1,22 @@
+package hexlet.code.component;
+
+import hexlet.code.service.UserPrincipal;
+import hexlet.code.util.JWTUtils;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+@Component("ownership")
+public final class OwnershipEvaluator {
+
+    public boolean isOwner(Authentication authentication, Long id) {
+        if (authentication == null || id == null) {
+            return false;
+        }
+        var principal = authentication.getPrincipal();
+        if (principal instanceof Jwt jwt) {
+            return jwt.getClaims().get(JWTUtils.USER_ID_CLAIM) instanceof Number userId && userId.longValue() == id;
+        }
+        return principal instanceof UserPrincipal user && user.id() == id;
+    }
+}
@@ -0,0 +1,19 @@
+package hexlet.code.component;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "password-hashing")
+@Setter
+@Getter
+public class PasswordHashingProperties {
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private int queueCapacity = 64;
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
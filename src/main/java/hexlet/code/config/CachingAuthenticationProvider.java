@@ -0,0 +1,50 @@
+package hexlet.code.config;
+
+import hexlet.code.service.CredentialCache;
+import hexlet.code.service.UserPrincipal;
+import lombok.AllArgsConstructor;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+@AllArgsConstructor
+class CachingAuthenticationProvider implements AuthenticationProvider {
+    private final AuthenticationProvider delegate;
+    private final CredentialCache credentialCache;
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+        var username = authentication.getName();
+        var cached = credentialCache.get(username, password);
+        if (cached.isPresent()) {
+            return authenticated(cached.get(), authentication);
+        }
+        var generation = credentialCache.generation();
+        var result = delegate.authenticate(authentication);
+        if (result == null || !result.isAuthenticated()) {
+            return result;
+        }
+        var principal = result.getPrincipal() instanceof UserPrincipal user
+                ? user.withoutPassword()
+                : result.getPrincipal();
+        var verified = new CredentialCache.Verified(username, principal, result.getAuthorities());
+        credentialCache.put(username, password, verified, generation);
+        return authenticated(verified, authentication);
+    }
+
+    private static Authentication authenticated(CredentialCache.Verified verified, Authentication request) {
+        var token = UsernamePasswordAuthenticationToken.authenticated(verified.principal(), null,
+                verified.authorities());
+        token.setDetails(request.getDetails());
+        return token;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+}
@@ -17,7 +17,10 @@ import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
 
+import hexlet.code.component.BoundedPasswordEncoder;
+import hexlet.code.component.PasswordHashingProperties;
 import hexlet.code.component.RsaKeyProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 @AllArgsConstructor
@@ -25,8 +28,8 @@ class EncodersConfig {
     private final RsaKeyProperties rsaKeys;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), properties, meterRegistry);
     }
 
     @Bean
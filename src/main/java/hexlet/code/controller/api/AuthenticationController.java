@@ -1,6 +1,7 @@
 package hexlet.code.controller.api;
 
 import hexlet.code.dto.AuthRequest;
+import hexlet.code.service.UserPrincipal;
 import hexlet.code.util.JWTUtils;
 import lombok.AllArgsConstructor;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -22,9 +23,9 @@ class AuthenticationController {
         var authentication = new UsernamePasswordAuthenticationToken(
                 authRequest.getUsername(), authRequest.getPassword());
 
-        authenticationManager.authenticate(authentication);
+        var principal = (UserPrincipal) authenticationManager.authenticate(authentication).getPrincipal();
 
-        var token = jwtUtils.generateToken(authRequest.getUsername());
+        var token = jwtUtils.generateToken(principal.username(), principal.id());
         return token;
     }
 }
@@ -0,0 +1,88 @@
+package hexlet.code.controller.api;
+
+import hexlet.code.repository.VersionStamp;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+final class ETags {
+    private static final List<MediaType> PRODUCIBLE = List.of(
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, new MediaType("application", "x-jackson-smile"));
+
+    private ETags() {
+    }
+
+    static String of(Object... parts) {
+        return "\"" + representation(parts) + "\"";
+    }
+
+    static String ofEntity(VersionStamp entity, Object... parts) {
+        return "\"" + entityPrefix(entity) + representation(parts) + "\"";
+    }
+
+    static boolean preconditionFailed(WebRequest request, VersionStamp entity) {
+        var ifMatch = request.getHeaderValues(HttpHeaders.IF_MATCH);
+        if (ifMatch == null) {
+            return false;
+        }
+        var prefix = "\"" + entityPrefix(entity);
+        return Arrays.stream(ifMatch)
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::strip)
+                .noneMatch(tag -> "*".equals(tag) || tag.startsWith(prefix));
+    }
+
+    private static String entityPrefix(VersionStamp entity) {
+        return entity.maxId() + "-" + entity.versionSum() + "-";
+    }
+
+    private static String representation(Object... parts) {
+        var attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        varyOnAccept(attributes.getResponse());
+        var request = ServletUriComponentsBuilder.fromCurrentRequest().build();
+        var key = request.getPath() + "?" + request.getQuery()
+                + "|" + selectedMediaType(attributes.getRequest().getHeader(HttpHeaders.ACCEPT))
+                + "|" + Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("|"));
+        return DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MediaType selectedMediaType(String accept) {
+        List<MediaType> accepted;
+        try {
+            accepted = accept == null ? List.of(MediaType.ALL) : MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            accepted = List.of(MediaType.ALL);
+        }
+        accepted = new ArrayList<>(accepted);
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (var type : accepted) {
+            for (var producible : PRODUCIBLE) {
+                if (type.isCompatibleWith(producible)) {
+                    return producible;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private static void varyOnAccept(HttpServletResponse response) {
+        if (response != null && !response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package hexlet.code.controller.api;
 
+import hexlet.code.dto.FieldSelection;
 import hexlet.code.dto.label.LabelCreateDTO;
 import hexlet.code.dto.label.LabelDTO;
 import hexlet.code.dto.label.LabelUpdateDTO;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.LabelMapper;
+import hexlet.code.model.Label;
+import hexlet.code.repository.FieldProjectionRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.VersionStamp;
+import hexlet.code.repository.VersionStampRepository;
+import hexlet.code.service.ReferenceDataRegistry;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,10 +25,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/labels")
@@ -30,15 +39,22 @@ class LabelsController {
     private final LabelRepository labelRepository;
     private final TaskRepository taskRepository;
     private final LabelMapper labelMapper;
+    private final FieldProjectionRepository projectionRepository;
+    private final VersionStampRepository versionStamps;
+    private final ReferenceDataRegistry referenceData;
 
     @GetMapping("")
-    public ResponseEntity<List<LabelDTO>> index() {
-        var labelDTOS = labelRepository.findAll().stream()
-                .map(labelMapper::map)
-                .toList();
+    public ResponseEntity<MappingJacksonValue> index(@RequestParam(required = false) Set<String> fields,
+                                                     WebRequest request) {
+        if (request.checkNotModified(ETags.of(referenceData.labelStamp()))) {
+            return null;
+        }
+        var selection = FieldSelection.of(fields);
+        selection.validate(LabelDTO.class);
+        var labelDTOS = referenceData.labels();
         return ResponseEntity.ok()
                 .header("X-Total-Count", String.valueOf(labelDTOS.size()))
-                .body(labelDTOS);
+                .body(selection.apply(labelDTOS));
     }
 
     @PostMapping("")
@@ -50,23 +66,35 @@ class LabelsController {
     }
 
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public LabelDTO show(@PathVariable Long id) {
-        var label = labelRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Label with " + id + " not found"));
-        return labelMapper.map(label);
+    public MappingJacksonValue show(@PathVariable Long id, @RequestParam(required = false) Set<String> fields,
+                                    WebRequest request) {
+        var stamp = versionStamps.findById(Label.class, id);
+        if (stamp.count() > 0 && request.checkNotModified(ETags.ofEntity(stamp))) {
+            return null;
+        }
+        var selection = FieldSelection.of(fields);
+        var labelDTO = selection.isAll()
+                ? labelRepository.findById(id).map(labelMapper::map)
+                : projectionRepository.findById(Label.class, id, LabelDTO.class, selection);
+        return selection.apply(labelDTO
+                .orElseThrow(() -> new ResourceNotFoundException("Label with " + id + " not found")));
     }
 
     @PutMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public LabelDTO update(@RequestBody @Valid LabelUpdateDTO labelData, @PathVariable Long id) {
+    public ResponseEntity<LabelDTO> update(@RequestBody @Valid LabelUpdateDTO labelData, @PathVariable Long id,
+                                           WebRequest request) {
         var label = labelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Label with " + id + " not found"));
+        if (ETags.preconditionFailed(request, VersionStamp.of(label.getId(), label.getVersion()))) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
 
         labelMapper.update(labelData, label);
         labelRepository.save(label);
 
-        return labelMapper.map(label);
+        return ResponseEntity.ok()
+                .eTag(ETags.ofEntity(VersionStamp.of(label.getId(), label.getVersion())))
+                .body(labelMapper.map(label));
     }
 
     @DeleteMapping("/{id}")
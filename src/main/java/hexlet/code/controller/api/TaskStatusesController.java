@@ -1,16 +1,24 @@
 package hexlet.code.controller.api;
 
+import hexlet.code.dto.FieldSelection;
 import hexlet.code.dto.taskstatus.TaskStatusCreateDTO;
 import hexlet.code.dto.taskstatus.TaskStatusDTO;
 import hexlet.code.dto.taskstatus.TaskStatusUpdateDTO;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.TaskStatusMapper;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.FieldProjectionRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.VersionStamp;
+import hexlet.code.repository.VersionStampRepository;
+import hexlet.code.search.TaskQueryCache;
+import hexlet.code.service.ReferenceDataRegistry;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,10 +26,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/task_statuses")
@@ -30,15 +41,23 @@ class TaskStatusesController {
     private final TaskStatusRepository taskStatusRepository;
     private final TaskRepository taskRepository;
     private final TaskStatusMapper taskStatusMapper;
+    private final FieldProjectionRepository projectionRepository;
+    private final VersionStampRepository versionStamps;
+    private final ReferenceDataRegistry referenceData;
+    private final TaskQueryCache queryCache;
 
     @GetMapping("")
-    public ResponseEntity<List<TaskStatusDTO>> index() {
-        var taskStatusDTOS = taskStatusRepository.findAll().stream()
-                .map(taskStatusMapper::map)
-                .toList();
+    public ResponseEntity<MappingJacksonValue> index(@RequestParam(required = false) Set<String> fields,
+                                                     WebRequest request) {
+        if (request.checkNotModified(ETags.of(referenceData.statusStamp()))) {
+            return null;
+        }
+        var selection = FieldSelection.of(fields);
+        selection.validate(TaskStatusDTO.class);
+        var taskStatusDTOS = referenceData.statuses();
         return ResponseEntity.ok()
                 .header("X-Total-Count", String.valueOf(taskStatusDTOS.size()))
-                .body(taskStatusDTOS);
+                .body(selection.apply(taskStatusDTOS));
     }
 
     @PostMapping("")
@@ -50,23 +69,39 @@ class TaskStatusesController {
     }
 
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public TaskStatusDTO show(@PathVariable Long id) {
-        var taskStatus = taskStatusRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task status with " + id + " not found"));
-        return taskStatusMapper.map(taskStatus);
+    public MappingJacksonValue show(@PathVariable Long id, @RequestParam(required = false) Set<String> fields,
+                                    WebRequest request) {
+        var stamp = versionStamps.findById(TaskStatus.class, id);
+        if (stamp.count() > 0 && request.checkNotModified(ETags.ofEntity(stamp))) {
+            return null;
+        }
+        var selection = FieldSelection.of(fields);
+        var taskStatusDTO = selection.isAll()
+                ? taskStatusRepository.findById(id).map(taskStatusMapper::map)
+                : projectionRepository.findById(TaskStatus.class, id, TaskStatusDTO.class, selection);
+        return selection.apply(taskStatusDTO
+                .orElseThrow(() -> new ResourceNotFoundException("Task status with " + id + " not found")));
     }
 
     @PutMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public TaskStatusDTO update(@RequestBody @Valid TaskStatusUpdateDTO taskStatusData, @PathVariable Long id) {
+    public ResponseEntity<TaskStatusDTO> update(@RequestBody @Valid TaskStatusUpdateDTO taskStatusData,
+                                                @PathVariable Long id, WebRequest request) {
         var taskStatus = taskStatusRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task status with " + id + " not found"));
+        if (ETags.preconditionFailed(request, VersionStamp.of(taskStatus.getId(), taskStatus.getVersion()))) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
 
+        var previousSlug = taskStatus.getSlug();
         taskStatusMapper.update(taskStatusData, taskStatus);
         taskStatusRepository.save(taskStatus);
+        if (!Objects.equals(previousSlug, taskStatus.getSlug())) {
+            queryCache.invalidateStatus(previousSlug, taskStatus.getSlug());
+        }
 
-        return taskStatusMapper.map(taskStatus);
+        return ResponseEntity.ok()
+                .eTag(ETags.ofEntity(VersionStamp.of(taskStatus.getId(), taskStatus.getVersion())))
+                .body(taskStatusMapper.map(taskStatus));
     }
 
     @DeleteMapping("/{id}")
@@ -1,74 +1,256 @@
 package hexlet.code.controller.api;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.FieldSelection;
+import hexlet.code.dto.task.TaskBatchResultDTO;
+import hexlet.code.dto.task.TaskBulkResultDTO;
+import hexlet.code.dto.task.TaskBulkUpdateDTO;
 import hexlet.code.dto.task.TaskCreateDTO;
 import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskFacetsDTO;
+import hexlet.code.dto.task.TaskImportResultDTO;
 import hexlet.code.dto.task.TaskParamsDTO;
 import hexlet.code.dto.task.TaskUpdateDTO;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.TaskMapper;
+import hexlet.code.model.Task;
 import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.VersionStamp;
+import hexlet.code.repository.VersionStampRepository;
+import hexlet.code.search.TaskQueryCache;
+import hexlet.code.search.TaskSearchIndex;
+import hexlet.code.service.ReferenceDataRegistry;
+import hexlet.code.service.TaskFacetsService;
+import hexlet.code.service.TaskService;
+import hexlet.code.service.TaskTransferService;
 import hexlet.code.specification.TaskSpecification;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/tasks")
 @AllArgsConstructor
 class TasksController {
+    static final String SEARCH_DEGRADED = "X-Search-Degraded";
+
     private final TaskRepository taskRepository;
     private final TaskMapper taskMapper;
     private final TaskSpecification specBuilder;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskSearchIndex searchIndex;
+    private final TaskFacetsService taskFacetsService;
+    private final TaskQueryCache queryCache;
+    private final VersionStampRepository versionStamps;
+    private final ReferenceDataRegistry referenceData;
+    private final TaskService taskService;
+    private final TaskTransferService transferService;
 
     @GetMapping("")
-    public ResponseEntity<List<TaskDTO>> index(TaskParamsDTO params) {
-        var spec = specBuilder.build(params);
-        var taskDTOS = taskRepository.findAll(spec).stream()
-                .map(taskMapper::map)
+    public ResponseEntity<MappingJacksonValue> index(@Valid TaskParamsDTO params,
+                                                     @RequestParam(required = false) Set<String> fields,
+                                                     WebRequest request) {
+        var selection = FieldSelection.of(fields);
+        var linkLimit = params.isRanked() ? null : params.getLimit();
+        var statuses = referenceData.statusStamp();
+        var key = TaskQueryCache.Key.of(params);
+        var cached = queryCache.get(key);
+        if (cached.isPresent()) {
+            var result = cached.get();
+            if (request.checkNotModified(ETags.of(result.stamp(), statuses))) {
+                return null;
+            }
+            return page(result.totalCount(), findInOrder(result.ids(), selection), linkLimit, selection);
+        }
+
+        var generation = queryCache.generation();
+        var candidates = specBuilder.candidateIds(params);
+        if (candidates.map(List::isEmpty).orElse(false)) {
+            return page(0, List.of(), linkLimit, selection);
+        }
+        var stamp = versionStamps.find(Task.class);
+        if (request.checkNotModified(ETags.of(stamp, statuses))) {
+            return null;
+        }
+        var totalCount = key.filter().isEmpty()
+                ? stamp.count()
+                : taskRepository.count(specBuilder.build(params, candidates));
+        var taskDTOS = totalCount == 0
+                ? List.<TaskDTO>of()
+                : taskRepository.findAllProjected(specBuilder.buildPage(params, candidates), params.getLimit(),
+                        selection);
+        var ids = taskDTOS.stream().map(TaskDTO::getId).toList();
+        queryCache.put(key, new TaskQueryCache.Result(ids, stamp, totalCount), generation);
+        return page(totalCount, taskDTOS, linkLimit, selection);
+    }
+
+    @GetMapping("/facets")
+    public TaskFacetsDTO facets(@Valid TaskParamsDTO params) {
+        return taskFacetsService.count(params);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<MappingJacksonValue> search(@RequestParam String q,
+                                                      @RequestParam(required = false) Long after,
+                                                      @RequestParam(defaultValue = "50") @Min(1) @Max(1000) int limit,
+                                                      @RequestParam(required = false) Set<String> fields) {
+        var selection = FieldSelection.of(fields);
+        var matches = searchIndex.search(q);
+        if (matches.isEmpty()) {
+            var totalCount = taskRepository.count(specBuilder.search(q, null));
+            var taskDTOS = taskRepository.findAllProjected(specBuilder.search(q, after), limit, selection);
+            return pageHeaders(totalCount, taskDTOS, limit)
+                    .header(SEARCH_DEGRADED, "true")
+                    .body(selection.apply(taskDTOS));
+        }
+
+        var ids = matches.get();
+        var pageIds = (after == null ? ids : ids.tailSet(after, false)).stream()
+                .limit(limit)
                 .toList();
+        var taskDTOS = pageIds.isEmpty()
+                ? List.<TaskDTO>of()
+                : taskRepository.findAllProjected(specBuilder.byIds(pageIds), null, selection);
+        return page(ids.size(), taskDTOS, limit, selection);
+    }
+
+    @GetMapping(value = "", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> indexStream(@Valid TaskParamsDTO params) {
+        var spec = specBuilder.build(params);
+        StreamingResponseBody body = out -> {
+            try (var generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (var tasks = taskRepository.streamAll(spec)) {
+                        tasks.forEach(taskDTO -> writeTask(generator, taskDTO));
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@Valid TaskParamsDTO params,
+                                                        @RequestParam(defaultValue = "ndjson")
+                                                        @Pattern(regexp = "ndjson|csv") String format) {
+        var spec = specBuilder.build(params);
+        var csv = "csv".equals(format);
+        var contentType = csv ? MediaType.parseMediaType(TaskTransferService.TEXT_CSV) : MediaType.APPLICATION_NDJSON;
+        StreamingResponseBody body = out -> {
+            if (csv) {
+                transferService.exportCsv(spec, out);
+            } else {
+                transferService.exportNdjson(spec, out);
+            }
+        };
         return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(taskDTOS.size()))
-                .body(taskDTOS);
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=tasks." + format)
+                .body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<TaskImportResultDTO> importNdjson(
+            InputStream body,
+            @RequestParam(defaultValue = "${tasks.import.batch-size}")
+            @Min(1) @Max(TaskService.MAX_BATCH_SIZE) int batchSize) throws IOException {
+        return imported(transferService.importNdjson(body, batchSize));
+    }
+
+    @PostMapping(value = "/import", consumes = TaskTransferService.TEXT_CSV)
+    public ResponseEntity<TaskImportResultDTO> importCsv(
+            InputStream body,
+            @RequestParam(defaultValue = "${tasks.import.batch-size}")
+            @Min(1) @Max(TaskService.MAX_BATCH_SIZE) int batchSize) throws IOException {
+        return imported(transferService.importCsv(body, batchSize));
     }
 
     @PostMapping("")
     @ResponseStatus(HttpStatus.CREATED)
     public TaskDTO create(@Valid @RequestBody TaskCreateDTO taskData) {
         var task = taskMapper.map(taskData);
-        taskRepository.save(task);
+        taskService.save(task);
         return taskMapper.map(task);
     }
 
+    @PostMapping("/batch")
+    public List<TaskBatchResultDTO> createAll(
+            @RequestBody @Size(min = 1, max = TaskService.MAX_BATCH_SIZE) List<TaskCreateDTO> items) {
+        return taskService.createAll(items);
+    }
+
+    @PatchMapping("")
+    public TaskBulkResultDTO updateAll(@Valid @RequestBody TaskBulkUpdateDTO data) {
+        return taskService.updateAll(data);
+    }
+
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public TaskDTO show(@PathVariable Long id) {
-        var task = taskRepository.findById(id)
+    public MappingJacksonValue show(@PathVariable Long id, @RequestParam(required = false) Set<String> fields,
+                                    WebRequest request) {
+        var stamp = versionStamps.findById(Task.class, id);
+        if (stamp.count() > 0
+                && request.checkNotModified(ETags.ofEntity(stamp, referenceData.statusStamp()))) {
+            return null;
+        }
+        var selection = FieldSelection.of(fields);
+        var taskDTO = taskRepository.findProjectedById(id, selection)
                 .orElseThrow(() -> new ResourceNotFoundException("Task with " + id + " not found"));
-        return taskMapper.map(task);
+        return selection.apply(taskDTO);
     }
 
     @PutMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public TaskDTO update(@RequestBody @Valid TaskUpdateDTO taskData, @PathVariable Long id) {
+    public ResponseEntity<TaskDTO> update(@RequestBody @Valid TaskUpdateDTO taskData, @PathVariable Long id,
+                                          WebRequest request) {
         var task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task with " + id + " not found"));
+        if (ETags.preconditionFailed(request, VersionStamp.of(task.getId(), task.getVersion()))) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
 
         taskMapper.update(taskData, task);
-        taskRepository.save(task);
+        taskService.save(task);
 
-        return taskMapper.map(task);
+        return ResponseEntity.ok()
+                .eTag(etagOf(task))
+                .body(taskMapper.map(task));
     }
 
     @DeleteMapping("/{id}")
@@ -76,4 +258,51 @@ class TasksController {
     public void destroy(@PathVariable Long id) {
         taskRepository.deleteById(id);
     }
+
+    private static ResponseEntity<TaskImportResultDTO> imported(TaskImportResultDTO result) {
+        return result.getError() == null
+                ? ResponseEntity.ok(result)
+                : ResponseEntity.badRequest().body(result);
+    }
+
+    private String etagOf(Task task) {
+        return ETags.ofEntity(VersionStamp.of(task.getId(), task.getVersion()), referenceData.statusStamp());
+    }
+
+    private List<TaskDTO> findInOrder(List<Long> ids, FieldSelection selection) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        var byId = taskRepository.findAllProjected(specBuilder.byIds(ids), null, selection).stream()
+                .collect(Collectors.toMap(TaskDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private ResponseEntity<MappingJacksonValue> page(long totalCount, List<TaskDTO> taskDTOS, Integer limit,
+                                                     FieldSelection selection) {
+        return pageHeaders(totalCount, taskDTOS, limit).body(selection.apply(taskDTOS));
+    }
+
+    private static ResponseEntity.BodyBuilder pageHeaders(long totalCount, List<TaskDTO> taskDTOS, Integer limit) {
+        var response = ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(totalCount));
+        if (limit != null && taskDTOS.size() == limit) {
+            var next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", taskDTOS.getLast().getId())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response;
+    }
+
+    private void writeTask(JsonGenerator generator, TaskDTO taskDTO) {
+        try {
+            generator.writeObject(taskDTO);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
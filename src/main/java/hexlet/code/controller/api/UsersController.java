@@ -1,17 +1,24 @@
 package hexlet.code.controller.api;
 
-import java.util.List;
+import java.util.Set;
 
+import hexlet.code.dto.FieldSelection;
 import hexlet.code.dto.user.UserCreateDTO;
 import hexlet.code.dto.user.UserDTO;
 import hexlet.code.dto.user.UserUpdateDTO;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.UserMapper;
+import hexlet.code.model.User;
+import hexlet.code.repository.FieldProjectionRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.repository.VersionStamp;
+import hexlet.code.repository.VersionStampRepository;
+import hexlet.code.service.CustomUserDetailsService;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,8 +27,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 
@@ -32,17 +41,24 @@ class UsersController {
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
     private final UserMapper userMapper;
-    private static final String IS_ALLOWED
-            = "@userRepository.findById(#id).get().getEmail() == authentication.getName()";
+    private final FieldProjectionRepository projectionRepository;
+    private final VersionStampRepository versionStamps;
+    private final CustomUserDetailsService userDetailsService;
+    private static final String IS_ALLOWED = "@ownership.isOwner(authentication, #id)";
 
     @GetMapping("")
-    public ResponseEntity<List<UserDTO>> index() {
-        var userDTOS = userRepository.findAll().stream()
-                .map(userMapper::map)
-                .toList();
+    public ResponseEntity<MappingJacksonValue> index(@RequestParam(required = false) Set<String> fields,
+                                                     WebRequest request) {
+        if (request.checkNotModified(ETags.of(versionStamps.find(User.class)))) {
+            return null;
+        }
+        var selection = FieldSelection.of(fields);
+        var userDTOS = selection.isAll()
+                ? userRepository.findAll().stream().map(userMapper::map).toList()
+                : projectionRepository.findAll(User.class, UserDTO.class, selection);
         return ResponseEntity.ok()
                 .header("X-Total-Count", String.valueOf(userDTOS.size()))
-                .body(userDTOS);
+                .body(selection.apply(userDTOS));
     }
 
     @PostMapping("")
@@ -54,30 +70,48 @@ class UsersController {
     }
 
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public UserDTO show(@PathVariable Long id) {
-        var user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User with " + id + " not found"));
-        return userMapper.map(user);
+    public MappingJacksonValue show(@PathVariable Long id, @RequestParam(required = false) Set<String> fields,
+                                    WebRequest request) {
+        var stamp = versionStamps.findById(User.class, id);
+        if (stamp.count() > 0 && request.checkNotModified(ETags.ofEntity(stamp))) {
+            return null;
+        }
+        var selection = FieldSelection.of(fields);
+        var userDTO = selection.isAll()
+                ? userRepository.findById(id).map(userMapper::map)
+                : projectionRepository.findById(User.class, id, UserDTO.class, selection);
+        return selection.apply(userDTO
+                .orElseThrow(() -> new ResourceNotFoundException("User with " + id + " not found")));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize(IS_ALLOWED)
-    @ResponseStatus(HttpStatus.OK)
-    public UserDTO update(@RequestBody @Valid UserUpdateDTO userData, @PathVariable Long id) {
+    public ResponseEntity<UserDTO> update(@RequestBody @Valid UserUpdateDTO userData, @PathVariable Long id,
+                                          WebRequest request) {
         var user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User with " + id + " not found"));
+        if (ETags.preconditionFailed(request, VersionStamp.of(user.getId(), user.getVersion()))) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
 
+        var email = user.getEmail();
         userMapper.update(userData, user);
         userRepository.save(user);
+        userDetailsService.evict(email);
+        userDetailsService.evict(user.getEmail());
 
-        return userMapper.map(user);
+        return ResponseEntity.ok()
+                .eTag(ETags.ofEntity(VersionStamp.of(user.getId(), user.getVersion())))
+                .body(userMapper.map(user));
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize(IS_ALLOWED)
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void destroy(@PathVariable Long id) {
-        userRepository.deleteById(id);
+        userRepository.findById(id).ifPresent(user -> {
+            userRepository.delete(user);
+            userDetailsService.evict(user.getEmail());
+        });
     }
 }
@@ -0,0 +1,56 @@
+package hexlet.code.dto;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import hexlet.code.exception.UnknownFieldException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.beans.PropertyDescriptor;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+
+public record FieldSelection(Set<String> fields) {
+    public static final String FILTER = "fields";
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    public static FieldSelection of(Set<String> fields) {
+        return fields == null || fields.isEmpty() ? ALL : new FieldSelection(Set.copyOf(fields));
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    public void validate(Class<?> dtoType) {
+        validate(Arrays.stream(BeanUtils.getPropertyDescriptors(dtoType))
+                .map(PropertyDescriptor::getName)
+                .filter(name -> !"class".equals(name))
+                .toList());
+    }
+
+    public void validate(Collection<String> known) {
+        if (fields == null) {
+            return;
+        }
+        for (var field : fields) {
+            if (!known.contains(field)) {
+                throw new UnknownFieldException("Unknown field " + field);
+            }
+        }
+    }
+
+    public MappingJacksonValue apply(Object body) {
+        var value = new MappingJacksonValue(body);
+        if (fields != null) {
+            value.setFilters(new SimpleFilterProvider()
+                    .addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        }
+        return value;
+    }
+}
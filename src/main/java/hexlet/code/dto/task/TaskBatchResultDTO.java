@@ -0,0 +1,30 @@
+package hexlet.code.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskBatchResultDTO {
+    private int status;
+    private TaskDTO task;
+    private List<String> errors;
+
+    public static TaskBatchResultDTO created(TaskDTO task) {
+        var result = new TaskBatchResultDTO();
+        result.setStatus(201);
+        result.setTask(task);
+        return result;
+    }
+
+    public static TaskBatchResultDTO failed(int status, List<String> errors) {
+        var result = new TaskBatchResultDTO();
+        result.setStatus(status);
+        result.setErrors(errors);
+        return result;
+    }
+}
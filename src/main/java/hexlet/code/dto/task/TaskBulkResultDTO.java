@@ -0,0 +1,10 @@
+package hexlet.code.dto.task;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class TaskBulkResultDTO {
+    private long updated;
+}
@@ -0,0 +1,37 @@
+package hexlet.code.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import hexlet.code.service.TaskService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+import org.openapitools.jackson.nullable.JsonNullable;
+
+import java.util.Set;
+
+@Getter
+@Setter
+public class TaskBulkUpdateDTO {
+    @Size(min = 1, max = TaskService.MAX_BATCH_SIZE)
+    private Set<Long> ids;
+
+    @Valid
+    private TaskParamsDTO filter;
+
+    private String status;
+
+    @JsonProperty("assignee_id")
+    private JsonNullable<Long> assigneeId = JsonNullable.undefined();
+
+    private Set<Long> addLabelIds;
+
+    private Set<Long> removeLabelIds;
+
+    public boolean hasChanges() {
+        return status != null
+                || assigneeId.isPresent()
+                || addLabelIds != null && !addLabelIds.isEmpty()
+                || removeLabelIds != null && !removeLabelIds.isEmpty();
+    }
+}
@@ -1,7 +1,9 @@
 package hexlet.code.dto.task;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import hexlet.code.dto.FieldSelection;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -10,9 +12,12 @@ import java.util.Set;
 
 @Getter
 @Setter
+@JsonFilter(FieldSelection.FILTER)
 public class TaskDTO {
     private long id;
 
+    private Long version;
+
     private Integer index;
 
     @JsonProperty("assignee_id")
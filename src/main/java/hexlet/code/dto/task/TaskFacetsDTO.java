@@ -0,0 +1,15 @@
+package hexlet.code.dto.task;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+public class TaskFacetsDTO {
+    private long total;
+    private Map<String, Long> status;
+    private Map<Long, Long> assignee;
+    private Map<Long, Long> label;
+}
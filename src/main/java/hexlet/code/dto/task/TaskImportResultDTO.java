@@ -0,0 +1,19 @@
+package hexlet.code.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskImportResultDTO {
+    private long created;
+    private long failed;
+    private Map<Long, List<String>> failures = new LinkedHashMap<>();
+    private String error;
+}
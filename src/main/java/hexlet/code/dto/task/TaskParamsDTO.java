@@ -1,14 +1,42 @@
 package hexlet.code.dto.task;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Set;
+
 @Getter
 @Setter
 public class TaskParamsDTO {
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
     private String titleCont;
     private Long assigneeId;
-    private String status;
+    private Set<String> status;
     private Long labelId;
+    private Set<Long> labelIds;
+
+    @Pattern(regexp = "all|any")
+    private String labelMode;
+
+    private Long after;
+
+    @Min(1)
+    @Max(MAX_LIMIT)
+    private Integer limit = DEFAULT_LIMIT;
+
+    @Pattern(regexp = "relevance")
+    private String sort;
+
+    public boolean isRanked() {
+        return titleCont != null && "relevance".equals(sort);
+    }
 
+    public boolean isAnyLabel() {
+        return "any".equals(labelMode);
+    }
 }
@@ -1,6 +1,8 @@
 package hexlet.code.dto.user;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import hexlet.code.dto.FieldSelection;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -8,8 +10,10 @@ import java.time.LocalDate;
 
 @Getter
 @Setter
+@JsonFilter(FieldSelection.FILTER)
 public class UserDTO {
     private long id;
+    private Long version;
     private String email;
     private String firstName;
     private String lastName;
@@ -0,0 +1,19 @@
+package hexlet.code.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class PasswordHashingBusyException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public PasswordHashingBusyException(Duration retryAfter) {
+        super("Too many password hashing requests");
+        this.retryAfter = retryAfter;
+    }
+
+    public String retryAfterSeconds() {
+        return String.valueOf(Math.max(1, retryAfter.toSeconds()));
+    }
+}
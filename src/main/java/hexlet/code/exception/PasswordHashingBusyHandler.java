@@ -0,0 +1,17 @@
+package hexlet.code.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+class PasswordHashingBusyHandler {
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    ResponseEntity<String> handle(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, e.retryAfterSeconds())
+                .body(e.getMessage());
+    }
+}
@@ -16,6 +16,6 @@ abstract class ReferenceMapper {
     private EntityManager entityManager;
 
     public <T extends BaseEntity> T toEntity(Long id, @TargetType Class<T> entityClass) {
-        return id != null ? entityManager.find(entityClass, id) : null;
+        return id != null ? entityManager.getReference(entityClass, id) : null;
     }
 }
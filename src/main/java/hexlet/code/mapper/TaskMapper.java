@@ -3,8 +3,7 @@ package hexlet.code.mapper;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.model.Label;
 import hexlet.code.model.TaskStatus;
-import hexlet.code.repository.LabelRepository;
-import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.service.ReferenceDataRegistry;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
@@ -31,10 +30,7 @@ import java.util.stream.Collectors;
 )
 public abstract class TaskMapper {
     @Autowired
-    private TaskStatusRepository taskStatusRepository;
-
-    @Autowired
-    private LabelRepository labelRepository;
+    private ReferenceDataRegistry referenceData;
 
     @Mapping(source = "title", target = "name")
     @Mapping(source = "content", target = "description")
@@ -66,15 +62,23 @@ public abstract class TaskMapper {
 
     @Named("mapStatus")
     final TaskStatus mapStatus(String slug) {
-        return taskStatusRepository.findBySlug(slug).orElseThrow(
+        return referenceData.findStatus(slug).orElseThrow(
                 () -> new ResourceNotFoundException("Task status with slug " + slug + " not found")
         );
     }
 
     @Named("labelIdsToLabels")
     final Set<Label> labelIdsToLabels(Set<Long> labelIds) {
-        return labelIds == null ? new HashSet<>()
-                : labelRepository.findByIdIn(labelIds);
+        if (labelIds == null) {
+            return new HashSet<>();
+        }
+        var labels = referenceData.findLabels(labelIds);
+        if (labels.size() < labelIds.size()) {
+            var found = labels.stream().map(Label::getId).collect(Collectors.toSet());
+            var missing = labelIds.stream().filter(id -> !found.contains(id)).toList();
+            throw new ResourceNotFoundException("Labels with ids " + missing + " not found");
+        }
+        return labels;
     }
 
     @Named("labelsToLabelIds")
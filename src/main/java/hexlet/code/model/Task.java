@@ -10,7 +10,11 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.EqualsAndHashCode;
@@ -23,17 +27,25 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDate;
 import java.util.Set;
 
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 
 @Entity
 @Table(name = "tasks")
+@NamedEntityGraph(name = Task.WITH_ASSOCIATIONS, attributeNodes = {
+        @NamedAttributeNode("taskStatus"),
+        @NamedAttributeNode("assignee"),
+        @NamedAttributeNode("labels")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public final class Task implements BaseEntity {
+    public static final String WITH_ASSOCIATIONS = "Task.withAssociations";
+
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private long id;
 
@@ -46,13 +58,13 @@ public final class Task implements BaseEntity {
     private String description;
 
     @NotNull
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private TaskStatus taskStatus;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User assignee;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany
     @JoinTable(
             name = "task_label",
             joinColumns = @JoinColumn(name = "task_id", referencedColumnName = "id"),
@@ -60,6 +72,9 @@ public final class Task implements BaseEntity {
     )
     private Set<Label> labels;
 
+    @Version
+    private Long version;
+
     @CreatedDate
     private LocalDate createdAt;
 
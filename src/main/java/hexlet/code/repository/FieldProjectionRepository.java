@@ -0,0 +1,66 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.FieldSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Selection;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.stereotype.Repository;
+
+import java.beans.PropertyDescriptor;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@AllArgsConstructor
+public class FieldProjectionRepository {
+    private final EntityManager entityManager;
+
+    public <D> List<D> findAll(Class<?> entityType, Class<D> dtoType, FieldSelection fields) {
+        return entityManager.createQuery(projection(entityType, dtoType, fields, null))
+                .getResultStream()
+                .map(row -> toDTO(row, dtoType))
+                .toList();
+    }
+
+    public <D> Optional<D> findById(Class<?> entityType, Long id, Class<D> dtoType, FieldSelection fields) {
+        return entityManager.createQuery(projection(entityType, dtoType, fields, id))
+                .getResultStream()
+                .findFirst()
+                .map(row -> toDTO(row, dtoType));
+    }
+
+    private CriteriaQuery<Tuple> projection(Class<?> entityType, Class<?> dtoType, FieldSelection fields, Long id) {
+        var properties = Arrays.stream(BeanUtils.getPropertyDescriptors(dtoType))
+                .map(PropertyDescriptor::getName)
+                .filter(name -> !"class".equals(name))
+                .toList();
+        fields.validate(properties);
+
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var root = query.from(entityType);
+        query.multiselect(properties.stream()
+                .filter(fields::includes)
+                .<Selection<?>>map(name -> root.get(name).alias(name))
+                .toList());
+        if (id != null) {
+            query.where(cb.equal(root.get("id"), id));
+        }
+        query.orderBy(cb.asc(root.get("id")));
+        return query;
+    }
+
+    private static <D> D toDTO(Tuple row, Class<D> dtoType) {
+        var dto = BeanUtils.instantiateClass(dtoType);
+        var wrapper = PropertyAccessorFactory.forBeanPropertyAccess(dto);
+        for (var element : row.getElements()) {
+            wrapper.setPropertyValue(element.getAlias(), row.get(element));
+        }
+        return dto;
+    }
+}
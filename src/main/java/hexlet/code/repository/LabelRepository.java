@@ -2,8 +2,10 @@ package hexlet.code.repository;
 
 import hexlet.code.model.Label;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
 
@@ -11,4 +13,7 @@ import java.util.Set;
 public interface LabelRepository extends JpaRepository<Label, Long> {
     Optional<Label> findByName(String name);
     Set<Label> findByIdIn(Set<Long> ids);
+
+    @Query("select l.id from Label l where l.id in :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
 }
@@ -0,0 +1,7 @@
+package hexlet.code.repository;
+
+import java.util.Set;
+
+public record TaskBulkChange(Long statusId, boolean reassign, Long assigneeId,
+                             Set<Long> addLabelIds, Set<Long> removeLabelIds) {
+}
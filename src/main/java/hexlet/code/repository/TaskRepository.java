@@ -1,11 +1,24 @@
 package hexlet.code.repository;
 
 import hexlet.code.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface TaskRepository  extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository  extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskRepositoryCustom {
+    @EntityGraph(Task.WITH_ASSOCIATIONS)
     Optional<Task> findByName(String name);
+
+    @Override
+    @EntityGraph(Task.WITH_ASSOCIATIONS)
+    Optional<Task> findById(Long id);
+
+    @Override
+    @EntityGraph(Task.WITH_ASSOCIATIONS)
+    List<Task> findAll(Specification<Task> spec);
 }
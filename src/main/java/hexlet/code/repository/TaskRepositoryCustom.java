@@ -0,0 +1,26 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.FieldSelection;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskFacetsDTO;
+import hexlet.code.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface TaskRepositoryCustom {
+    Stream<TaskDTO> streamAll(Specification<Task> spec);
+
+    void detach(Task task);
+
+    List<TaskDTO> findAllProjected(Specification<Task> spec, Integer limit, FieldSelection fields);
+
+    Optional<TaskDTO> findProjectedById(Long id, FieldSelection fields);
+
+    TaskFacetsDTO countFacets(Specification<Task> spec);
+
+    int bulkUpdate(Collection<Long> ids, TaskBulkChange change);
+}
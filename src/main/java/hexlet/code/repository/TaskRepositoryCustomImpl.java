@@ -0,0 +1,239 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.FieldSelection;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskFacetsDTO;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.AllArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@AllArgsConstructor
+class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+    private static final int FETCH_SIZE = 500;
+    private static final List<String> FIELDS = List.of(
+            "id", "version", "index", "assignee_id", "title", "content", "status", "taskLabelIds", "createdAt");
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Stream<TaskDTO> streamAll(Specification<Task> spec) {
+        return entityManager.createQuery(projection(spec, FieldSelection.ALL))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(row -> toDTO(row, FieldSelection.ALL));
+    }
+
+    @Override
+    public void detach(Task task) {
+        entityManager.detach(task);
+    }
+
+    @Override
+    public List<TaskDTO> findAllProjected(Specification<Task> spec, Integer limit, FieldSelection fields) {
+        var query = entityManager.createQuery(projection(spec, fields));
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultStream()
+                .map(row -> toDTO(row, fields))
+                .toList();
+    }
+
+    @Override
+    public Optional<TaskDTO> findProjectedById(Long id, FieldSelection fields) {
+        Specification<Task> byId = (root, query, cb) -> cb.equal(root.get("id"), id);
+        return entityManager.createQuery(projection(byId, fields))
+                .getResultStream()
+                .findFirst()
+                .map(row -> toDTO(row, fields));
+    }
+
+    @Override
+    public TaskFacetsDTO countFacets(Specification<Task> spec) {
+        var facets = new TaskFacetsDTO();
+        var status = countBy(spec, String.class, root -> root.get("taskStatus").get("slug"));
+        facets.setStatus(status);
+        facets.setTotal(status.values().stream().mapToLong(Long::longValue).sum());
+        facets.setAssignee(countBy(spec, Long.class, root -> root.get("assignee").get("id")));
+        facets.setLabel(countBy(spec, Long.class, root -> root.join("labels").get("id")));
+        return facets;
+    }
+
+    @Override
+    public int bulkUpdate(Collection<Long> ids, TaskBulkChange change) {
+        var cb = entityManager.getCriteriaBuilder();
+        var update = cb.createCriteriaUpdate(Task.class);
+        var root = update.from(Task.class);
+        update.set(root.<Long>get("version"), cb.sum(root.get("version"), 1L));
+        update.set(root.<LocalDate>get("updatedAt"), LocalDate.now());
+        if (change.statusId() != null) {
+            update.set(root.<TaskStatus>get("taskStatus"),
+                    entityManager.getReference(TaskStatus.class, change.statusId()));
+        }
+        if (change.reassign() && change.assigneeId() == null) {
+            update.set(root.<User>get("assignee"), cb.nullLiteral(User.class));
+        } else if (change.reassign()) {
+            update.set(root.<User>get("assignee"), entityManager.getReference(User.class, change.assigneeId()));
+        }
+        update.where(root.get("id").in(ids));
+        var updated = entityManager.createQuery(update).executeUpdate();
+
+        if (!change.removeLabelIds().isEmpty()) {
+            entityManager.createNativeQuery(
+                            "delete from task_label where task_id in (:ids) and label_id in (:labelIds)")
+                    .setParameter("ids", ids)
+                    .setParameter("labelIds", change.removeLabelIds())
+                    .executeUpdate();
+        }
+        if (!change.addLabelIds().isEmpty()) {
+            entityManager.createNativeQuery("""
+                            insert into task_label (task_id, label_id)
+                            select t.id, l.id from tasks t cross join labels l
+                            where t.id in (:ids) and l.id in (:labelIds)
+                            and not exists (
+                                select 1 from task_label tl where tl.task_id = t.id and tl.label_id = l.id
+                            )""")
+                    .setParameter("ids", ids)
+                    .setParameter("labelIds", change.addLabelIds())
+                    .executeUpdate();
+        }
+        return updated;
+    }
+
+    private <K> Map<K, Long> countBy(Specification<Task> spec, Class<K> keyType,
+                                     Function<Root<Task>, Expression<K>> key) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var root = query.from(Task.class);
+        var keyExpression = key.apply(root);
+        var predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.multiselect(keyExpression, cb.count(root))
+                .groupBy(keyExpression);
+
+        Map<K, Long> counts = new LinkedHashMap<>();
+        for (var row : entityManager.createQuery(query).getResultList()) {
+            var value = row.get(0, keyType);
+            if (value != null) {
+                counts.put(value, row.get(1, Long.class));
+            }
+        }
+        return counts;
+    }
+
+    private CriteriaQuery<Tuple> projection(Specification<Task> spec, FieldSelection fields) {
+        fields.validate(FIELDS);
+        var cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var root = query.from(Task.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id").alias("id"));
+        if (fields.includes("version")) {
+            selections.add(root.get("version").alias("version"));
+        }
+        if (fields.includes("index")) {
+            selections.add(root.get("index").alias("index"));
+        }
+        if (fields.includes("assignee_id")) {
+            selections.add(root.join("assignee", JoinType.LEFT).get("id").alias("assigneeId"));
+        }
+        if (fields.includes("title")) {
+            selections.add(root.get("name").alias("title"));
+        }
+        if (fields.includes("content")) {
+            selections.add(root.get("description").alias("content"));
+        }
+        if (fields.includes("status")) {
+            selections.add(root.join("taskStatus").get("slug").alias("status"));
+        }
+        if (fields.includes("taskLabelIds")) {
+            var labelIds = query.subquery(String.class);
+            var label = labelIds.correlate(root).join("labels");
+            labelIds.select(cb.listagg(cb.asc(label.get("id")), label.get("id").as(String.class), ","));
+            selections.add(labelIds.alias("labelIds"));
+        }
+        if (fields.includes("createdAt")) {
+            selections.add(root.get("createdAt").alias("createdAt"));
+        }
+        query.multiselect(selections);
+        var predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        orderById(query, root, cb);
+        return query;
+    }
+
+    private static void orderById(CriteriaQuery<?> query, Root<Task> root, CriteriaBuilder cb) {
+        var orders = new ArrayList<>(query.getOrderList());
+        orders.add(cb.asc(root.get("id")));
+        query.orderBy(orders);
+    }
+
+    private TaskDTO toDTO(Tuple row, FieldSelection fields) {
+        var dto = new TaskDTO();
+        dto.setId(row.get("id", Long.class));
+        if (fields.includes("version")) {
+            dto.setVersion(row.get("version", Long.class));
+        }
+        if (fields.includes("index")) {
+            dto.setIndex(row.get("index", Integer.class));
+        }
+        if (fields.includes("assignee_id")) {
+            dto.setAssigneeId(row.get("assigneeId", Long.class));
+        }
+        if (fields.includes("title")) {
+            dto.setTitle(row.get("title", String.class));
+        }
+        if (fields.includes("content")) {
+            dto.setContent(row.get("content", String.class));
+        }
+        if (fields.includes("status")) {
+            dto.setStatus(row.get("status", String.class));
+        }
+        if (fields.includes("taskLabelIds")) {
+            dto.setTaskLabelIds(parseIds(row.get("labelIds", String.class)));
+        }
+        if (fields.includes("createdAt")) {
+            dto.setCreatedAt(row.get("createdAt", LocalDate.class));
+        }
+        return dto;
+    }
+
+    private static Set<Long> parseIds(String ids) {
+        return ids == null || ids.isEmpty() ? new HashSet<>()
+                : Arrays.stream(ids.split(","))
+                .map(Long::valueOf)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,7 @@
+package hexlet.code.repository;
+
+public record VersionStamp(long count, long versionSum, long maxId) {
+    public static VersionStamp of(long id, Long version) {
+        return new VersionStamp(1, version, id);
+    }
+}
@@ -0,0 +1,37 @@
+package hexlet.code.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@AllArgsConstructor
+public class VersionStampRepository {
+    private final EntityManager entityManager;
+
+    public <E> VersionStamp find(Class<E> type) {
+        return find(type, (root, query, cb) -> null);
+    }
+
+    public <E> VersionStamp findById(Class<E> type, Long id) {
+        return find(type, (root, query, cb) -> cb.equal(root.get("id"), id));
+    }
+
+    public <E> VersionStamp find(Class<E> type, Specification<E> spec) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var root = query.from(type);
+        var predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.multiselect(
+                cb.count(root),
+                cb.coalesce(cb.sum(root.<Long>get("version")), 0L),
+                cb.coalesce(cb.max(root.<Long>get("id")), 0L)
+        );
+        var row = entityManager.createQuery(query).getSingleResult();
+        return new VersionStamp(row.get(0, Long.class), row.get(1, Long.class), row.get(2, Long.class));
+    }
+}
@@ -0,0 +1,15 @@
+package hexlet.code.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Component
+@ConfigurationProperties(prefix = "search.index")
+@Setter
+@Getter
+public class SearchIndexProperties {
+    private long maxPostings = 5_000_000;
+}
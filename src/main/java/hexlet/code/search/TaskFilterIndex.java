@@ -0,0 +1,180 @@
+package hexlet.code.search;
+
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public final class TaskFilterIndex {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Roaring64NavigableMap> byStatus = new HashMap<>();
+    private final Map<Long, Roaring64NavigableMap> byLabel = new HashMap<>();
+    private final Map<Long, Long> statusOf = new HashMap<>();
+    private final Map<Long, Set<Long>> labelsOf = new HashMap<>();
+    private final Set<Long> touched = new HashSet<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Optional<Roaring64NavigableMap> match(Collection<Long> statusIds, Collection<Long> labelIds,
+                                                 boolean allLabels) {
+        if (!ready || statusIds == null && labelIds == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            Roaring64NavigableMap result = null;
+            if (statusIds != null) {
+                result = union(byStatus, statusIds);
+            }
+            if (labelIds != null) {
+                var labels = allLabels ? intersection(byLabel, labelIds) : union(byLabel, labelIds);
+                if (result == null) {
+                    result = labels;
+                } else {
+                    result.and(labels);
+                }
+            }
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(long taskId, long statusId, Set<Long> labelIds) {
+        lock.writeLock().lock();
+        try {
+            touch(taskId);
+            index(taskId, statusId, labelIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long taskId) {
+        lock.writeLock().lock();
+        try {
+            touch(taskId);
+            var status = statusOf.remove(taskId);
+            if (status != null) {
+                unset(byStatus, status, taskId);
+            }
+            var labels = labelsOf.remove(taskId);
+            if (labels != null) {
+                labels.forEach(labelId -> unset(byLabel, labelId, taskId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void load(long taskId, long statusId, Set<Long> labelIds) {
+        lock.writeLock().lock();
+        try {
+            if (!touched.contains(taskId)) {
+                index(taskId, statusId, labelIds);
+            } else if (statusOf.containsKey(taskId) && !labelsOf.containsKey(taskId)) {
+                // the listener saw the task without initialized labels, only the rebuild knows them
+                index(taskId, statusOf.get(taskId), labelIds);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void startRebuild() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            byStatus.clear();
+            byLabel.clear();
+            statusOf.clear();
+            labelsOf.clear();
+            touched.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void finishRebuild() {
+        lock.writeLock().lock();
+        try {
+            touched.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void touch(long taskId) {
+        if (!ready) {
+            touched.add(taskId);
+        }
+    }
+
+    private void index(long taskId, long statusId, Set<Long> labelIds) {
+        var previousStatus = statusOf.put(taskId, statusId);
+        if (previousStatus != null) {
+            unset(byStatus, previousStatus, taskId);
+        }
+        byStatus.computeIfAbsent(statusId, id -> new Roaring64NavigableMap()).addLong(taskId);
+
+        if (labelIds != null) {
+            var previousLabels = labelsOf.put(taskId, Set.copyOf(labelIds));
+            if (previousLabels != null) {
+                previousLabels.forEach(labelId -> unset(byLabel, labelId, taskId));
+            }
+            labelIds.forEach(labelId ->
+                    byLabel.computeIfAbsent(labelId, id -> new Roaring64NavigableMap()).addLong(taskId));
+        }
+    }
+
+    private static Roaring64NavigableMap union(Map<Long, Roaring64NavigableMap> bitmaps, Collection<Long> keys) {
+        var result = new Roaring64NavigableMap();
+        for (var key : keys) {
+            var bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    private static Roaring64NavigableMap intersection(Map<Long, Roaring64NavigableMap> bitmaps,
+                                                      Collection<Long> keys) {
+        Roaring64NavigableMap result = null;
+        for (var key : keys) {
+            var bitmap = bitmaps.get(key);
+            if (bitmap == null) {
+                return new Roaring64NavigableMap();
+            }
+            if (result == null) {
+                result = new Roaring64NavigableMap();
+                result.or(bitmap);
+            } else {
+                result.and(bitmap);
+            }
+        }
+        return result == null ? new Roaring64NavigableMap() : result;
+    }
+
+    private static void unset(Map<Long, Roaring64NavigableMap> bitmaps, long key, long taskId) {
+        var bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.removeLong(taskId);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+}
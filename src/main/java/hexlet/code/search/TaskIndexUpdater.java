@@ -0,0 +1,58 @@
+package hexlet.code.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.model.Task;
+import hexlet.code.util.Transactions;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@AllArgsConstructor
+public final class TaskIndexUpdater {
+    private final TaskSearchIndex searchIndex;
+    private final TaskFilterIndex filterIndex;
+    private final TaskQueryCache queryCache;
+    // weak keys compare by identity: one snapshot per managed instance, dropped with its persistence context
+    private final Cache<Task, TaskSnapshot> loadedStates = Caffeine.newBuilder().weakKeys().build();
+
+    public void loaded(Task task) {
+        loadedStates.put(task, TaskSnapshot.of(task));
+    }
+
+    public void saved(Task task) {
+        var id = task.getId();
+        var name = task.getName();
+        var description = task.getDescription();
+        var statusId = task.getTaskStatus().getId();
+        var previous = loadedStates.getIfPresent(task);
+        var current = TaskSnapshot.of(task);
+        loadedStates.put(task, current);
+        Transactions.afterCommit(() -> {
+            searchIndex.put(id, name, description);
+            filterIndex.put(id, statusId, current.labelIds());
+            queryCache.invalidateTask(previous, current);
+        });
+    }
+
+    public void bulkUpdated(Map<Long, Long> statusIds, Map<Long, Set<Long>> labelIds) {
+        Transactions.afterCommit(() -> {
+            statusIds.forEach((id, statusId) -> filterIndex.put(id, statusId, labelIds.getOrDefault(id, Set.of())));
+            queryCache.invalidateAll();
+        });
+    }
+
+    public void removed(Task task) {
+        var id = task.getId();
+        var previous = loadedStates.asMap().remove(task);
+        var current = TaskSnapshot.of(task);
+        Transactions.afterCommit(() -> {
+            searchIndex.remove(id);
+            filterIndex.remove(id);
+            queryCache.invalidateTask(previous, current);
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package hexlet.code.search;
+
+import hexlet.code.model.Task;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AllArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+class TaskLabelsListener implements PostCollectionUpdateEventListener, PostCollectionRecreateEventListener {
+    private final EntityManagerFactory entityManagerFactory;
+    private final TaskIndexUpdater indexUpdater;
+
+    @PostConstruct
+    void register() {
+        var registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        onLabelsChanged(event);
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        onLabelsChanged(event);
+    }
+
+    private void onLabelsChanged(AbstractCollectionEvent event) {
+        if (event.getAffectedOwnerOrNull() instanceof Task task) {
+            indexUpdater.saved(task);
+        }
+    }
+}
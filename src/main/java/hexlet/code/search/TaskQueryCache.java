@@ -0,0 +1,80 @@
+package hexlet.code.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.dto.task.TaskParamsDTO;
+import hexlet.code.repository.VersionStamp;
+import hexlet.code.specification.TaskFilterKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+@Component
+public final class TaskQueryCache {
+    private static final long MAXIMUM_SIZE = 10_000;
+    private static final int MAX_CACHED_IDS = 1000;
+
+    public record Key(TaskFilterKey filter, Long after, Integer limit, boolean ranked) {
+        public static Key of(TaskParamsDTO params) {
+            return new Key(TaskFilterKey.of(params), params.getAfter(), params.getLimit(), params.isRanked());
+        }
+    }
+
+    public record Result(List<Long> ids, VersionStamp stamp, long totalCount) {
+    }
+
+    private final Cache<Key, Result> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public TaskQueryCache(MeterRegistry meterRegistry) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "tasks.query");
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public Optional<Result> get(Key key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    public void put(Key key, Result result, long startedAt) {
+        if (result.ids().size() > MAX_CACHED_IDS || generation.get() != startedAt) {
+            return;
+        }
+        cache.put(key, result);
+        if (generation.get() != startedAt) {
+            cache.invalidate(key);
+        }
+    }
+
+    public void invalidateTask(TaskSnapshot... states) {
+        var known = Arrays.stream(states).filter(Objects::nonNull).toList();
+        invalidate(filter -> known.stream().anyMatch(filter::mayMatch));
+    }
+
+    public void invalidateStatus(String... slugs) {
+        var changed = List.of(slugs);
+        invalidate(filter -> filter.status() != null && changed.stream().anyMatch(filter.status()::contains));
+    }
+
+    public void invalidateAll() {
+        invalidate(filter -> true);
+    }
+
+    private void invalidate(Predicate<TaskFilterKey> affected) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> affected.test(key.filter()));
+    }
+}
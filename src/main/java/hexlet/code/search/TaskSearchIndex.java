@@ -0,0 +1,155 @@
+package hexlet.code.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public final class TaskSearchIndex {
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private enum State { BUILDING, READY, OVER_BUDGET }
+
+    private final SearchIndexProperties properties;
+    private final NavigableMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Set<String>> documents = new ConcurrentHashMap<>();
+    private final Set<Long> touched = new HashSet<>();
+    private long postingCount;
+    private volatile State state = State.BUILDING;
+
+    public static Set<String> terms(String query) {
+        return tokenize(query);
+    }
+
+    public Optional<NavigableSet<Long>> search(String query) {
+        if (state != State.READY) {
+            return Optional.empty();
+        }
+        var terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return Optional.of(Collections.emptyNavigableSet());
+        }
+        NavigableSet<Long> result = null;
+        for (var term : terms) {
+            var matches = new TreeSet<Long>();
+            postings.subMap(term, true, term + Character.MAX_VALUE, false)
+                    .values()
+                    .forEach(matches::addAll);
+            if (result == null) {
+                result = matches;
+            } else {
+                result.retainAll(matches);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return Optional.of(result);
+    }
+
+    public synchronized void put(long id, String... texts) {
+        touch(id);
+        index(id, texts);
+    }
+
+    public synchronized void remove(long id) {
+        touch(id);
+        removeDocument(id);
+    }
+
+    /**
+     * Indexes a row read by the rebuild unless a listener already wrote that task since the rebuild started:
+     * the listener's state is newer than the snapshot the rebuild is reading.
+     */
+    synchronized void load(long id, String... texts) {
+        if (!touched.contains(id)) {
+            index(id, texts);
+        }
+    }
+
+    synchronized void startRebuild() {
+        clear();
+        touched.clear();
+        state = State.BUILDING;
+    }
+
+    synchronized void finishRebuild() {
+        touched.clear();
+        if (state == State.BUILDING) {
+            state = State.READY;
+        }
+    }
+
+    private void touch(long id) {
+        if (state == State.BUILDING) {
+            touched.add(id);
+        }
+    }
+
+    private void index(long id, String... texts) {
+        if (state == State.OVER_BUDGET) {
+            return;
+        }
+        removeDocument(id);
+        var terms = tokenize(texts);
+        if (postingCount + terms.size() > properties.getMaxPostings()) {
+            log.warn("Task search index exceeded {} postings, falling back to database search",
+                    properties.getMaxPostings());
+            clear();
+            state = State.OVER_BUDGET;
+            return;
+        }
+        for (var term : terms) {
+            postings.computeIfAbsent(term, t -> new ConcurrentSkipListSet<>()).add(id);
+        }
+        documents.put(id, terms);
+        postingCount += terms.size();
+    }
+
+    private void removeDocument(long id) {
+        var terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (var term : terms) {
+            postings.computeIfPresent(term, (t, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        postingCount -= terms.size();
+    }
+
+    private void clear() {
+        postings.clear();
+        documents.clear();
+        postingCount = 0;
+    }
+
+    private static Set<String> tokenize(String... texts) {
+        return Arrays.stream(texts)
+                .filter(Objects::nonNull)
+                .flatMap(text -> SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+}
@@ -0,0 +1,51 @@
+package hexlet.code.search;
+
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@AllArgsConstructor
+class TaskSearchIndexer {
+    private static final int FETCH_SIZE = 1000;
+
+    private final TaskSearchIndex searchIndex;
+    private final TaskFilterIndex filterIndex;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        searchIndex.startRebuild();
+        filterIndex.startRebuild();
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Set<Long>> labelIds = new HashMap<>();
+            var labels = entityManager.createQuery(
+                    "select t.id, l.id from Task t join t.labels l", Object[].class);
+            try (var rows = labels.setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE).getResultStream()) {
+                rows.forEach(row -> labelIds.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]));
+            }
+
+            var tasks = entityManager.createQuery(
+                    "select t.id, t.name, t.description, t.taskStatus.id from Task t", Object[].class);
+            try (var rows = tasks.setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE).getResultStream()) {
+                rows.forEach(row -> {
+                    var id = (Long) row[0];
+                    searchIndex.load(id, (String) row[1], (String) row[2]);
+                    filterIndex.load(id, (Long) row[3], labelIds.getOrDefault(id, Set.of()));
+                });
+            }
+        });
+        searchIndex.finishRebuild();
+        filterIndex.finishRebuild();
+    }
+}
@@ -0,0 +1,26 @@
+package hexlet.code.search;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import org.hibernate.Hibernate;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public record TaskSnapshot(long id, String name, Long assigneeId, String statusSlug, Set<Long> labelIds) {
+    public static TaskSnapshot of(Task task) {
+        var assignee = task.getAssignee();
+        var status = task.getTaskStatus();
+        var labels = task.getLabels();
+        return new TaskSnapshot(
+                task.getId(),
+                task.getName(),
+                assignee == null ? null : assignee.getId(),
+                status != null && Hibernate.isInitialized(status) ? status.getSlug() : null,
+                labels == null ? Set.of()
+                        : Hibernate.isInitialized(labels)
+                        ? labels.stream().map(Label::getId).collect(Collectors.toSet())
+                        : null
+        );
+    }
+}
@@ -0,0 +1,89 @@
+package hexlet.code.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public final class CredentialCache {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Duration TTL = Duration.ofMinutes(1);
+    private static final long MAXIMUM_SIZE = 10_000;
+
+    private final SecretKeySpec key;
+    private final Cache<String, Verified> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * What a successful password check established; details of the request that performed it are not kept.
+     */
+    public record Verified(String username, Object principal, Collection<? extends GrantedAuthority> authorities) {
+        public Verified {
+            authorities = List.copyOf(authorities);
+        }
+    }
+
+    public CredentialCache(MeterRegistry meterRegistry) {
+        var secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        key = new SecretKeySpec(secret, ALGORITHM);
+        cache = Caffeine.newBuilder()
+                .expireAfterWrite(TTL)
+                .maximumSize(MAXIMUM_SIZE)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.credentials");
+    }
+
+    public Optional<Verified> get(String username, String password) {
+        return Optional.ofNullable(cache.getIfPresent(digest(username, password)));
+    }
+
+    /**
+     * Taken before the password is checked and passed back to {@link #put}, so a check that raced with a password
+     * change or a delete is not cached after the invalidation already ran.
+     */
+    public long generation() {
+        return invalidations.get();
+    }
+
+    public void put(String username, String password, Verified verified, long generation) {
+        var key = digest(username, password);
+        cache.put(key, verified);
+        if (invalidations.get() != generation) {
+            cache.asMap().remove(key, verified);
+        }
+    }
+
+    public void invalidate(String username) {
+        invalidations.incrementAndGet();
+        cache.asMap().values().removeIf(verified -> verified.username().equals(username));
+    }
+
+    private String digest(String username, String password) {
+        try {
+            var mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return HexFormat.of().formatHex(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package hexlet.code.service;
 
-import lombok.AllArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -9,17 +15,35 @@ import org.springframework.stereotype.Service;
 
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.util.Transactions;
+
+import java.time.Duration;
 
 @Service
-@AllArgsConstructor
 public final class CustomUserDetailsService implements UserDetailsManager {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CredentialCache credentialCache;
+    private final Cache<String, UserPrincipal> cache = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .maximumSize(10_000)
+            .recordStats()
+            .build();
+
+    public CustomUserDetailsService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                                    CredentialCache credentialCache, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.credentialCache = credentialCache;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.users");
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        var user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        var user = cache.get(email, key -> userRepository.findByEmail(key).map(UserPrincipal::of).orElse(null));
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found");
+        }
         return user;
     }
 
@@ -30,29 +54,53 @@ public final class CustomUserDetailsService implements UserDetailsManager {
         var hashedPassword = passwordEncoder.encode(userData.getPassword());
         user.setPassword(hashedPassword);
         userRepository.save(user);
+        evict(user.getEmail());
     }
 
     @Override
-    public void updateUser(UserDetails user) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'updateUser'");
+    public void updateUser(UserDetails userData) {
+        var user = userRepository.findByEmail(userData.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        user.setPassword(passwordEncoder.encode(userData.getPassword()));
+        userRepository.save(user);
+        evict(user.getEmail());
     }
 
     @Override
     public void deleteUser(String username) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'deleteUser'");
+        userRepository.findByEmail(username).ifPresent(userRepository::delete);
+        evict(username);
     }
 
     @Override
     public void changePassword(String oldPassword, String newPassword) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'changePassword'");
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new AccessDeniedException("No authenticated user to change the password for");
+        }
+        var user = userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        if (!passwordEncoder.matches(oldPassword, user.getPassword())) {
+            throw new BadCredentialsException("Old password does not match");
+        }
+        user.setPassword(passwordEncoder.encode(newPassword));
+        userRepository.save(user);
+        evict(user.getEmail());
     }
 
     @Override
     public boolean userExists(String username) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'userExists'");
+        return cache.getIfPresent(username) != null || userRepository.existsByEmail(username);
+    }
+
+    /**
+     * Runs after the surrounding transaction commits, so a load that starts later reads the new row. A load that
+     * is still in flight is not a problem: Caffeine makes the invalidation wait for it and removes its result.
+     */
+    public void evict(String username) {
+        Transactions.afterCommit(() -> {
+            cache.invalidate(username);
+            credentialCache.invalidate(username);
+        });
     }
 }
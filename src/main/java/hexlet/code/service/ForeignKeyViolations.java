@@ -0,0 +1,98 @@
+package hexlet.code.service;
+
+import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Turns a foreign key violation on a task write into a 404 for the reference that does not exist. The constraint
+ * name that Hibernate's dialect extracts is used when it is one of ours; otherwise (a localized driver message,
+ * or a schema that Flyway baselined with generated constraint names) the referenced ids are checked again.
+ */
+@Component
+@RequiredArgsConstructor
+public final class ForeignKeyViolations {
+    private static final Set<String> SQL_STATES = Set.of("23503", "23506");
+    private static final Map<String, String> CONSTRAINTS = Map.of(
+            "fk_tasks_assignee", "Assignee of the task not found",
+            "fk_tasks_task_status", "Status of the task not found",
+            "fk_task_label_label", "Label of the task not found"
+    );
+
+    private final UserRepository userRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final LabelRepository labelRepository;
+
+    public RuntimeException translate(DataIntegrityViolationException e, Collection<Task> tasks) {
+        if (!(e.getCause() instanceof ConstraintViolationException violation)
+                || !SQL_STATES.contains(violation.getSQLState())) {
+            return e;
+        }
+        return Optional.ofNullable(violation.getConstraintName())
+                .map(ForeignKeyViolations::normalize)
+                .map(CONSTRAINTS::get)
+                .or(() -> missingReference(tasks))
+                .<RuntimeException>map(ResourceNotFoundException::new)
+                .orElse(e);
+    }
+
+    private Optional<String> missingReference(Collection<Task> tasks) {
+        var assigneeIds = ids(tasks, task -> Stream.ofNullable(task.getAssignee()).map(User::getId));
+        var missingAssignees = missing(assigneeIds, userRepository::findExistingIds);
+        if (!missingAssignees.isEmpty()) {
+            return Optional.of("Users with ids " + missingAssignees + " not found");
+        }
+        var statusIds = ids(tasks, task -> Stream.ofNullable(task.getTaskStatus()).map(TaskStatus::getId));
+        var missingStatuses = missing(statusIds, taskStatusRepository::findExistingIds);
+        if (!missingStatuses.isEmpty()) {
+            return Optional.of("Task statuses with ids " + missingStatuses + " not found");
+        }
+        var labelIds = ids(tasks, task -> Stream.ofNullable(task.getLabels()).flatMap(Set::stream).map(Label::getId));
+        var missingLabels = missing(labelIds, labelRepository::findExistingIds);
+        if (!missingLabels.isEmpty()) {
+            return Optional.of("Labels with ids " + missingLabels + " not found");
+        }
+        return Optional.empty();
+    }
+
+    private static Set<Long> ids(Collection<Task> tasks, Function<Task, Stream<Long>> references) {
+        return tasks.stream()
+                .flatMap(references)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<Long> missing(Set<Long> ids, Function<Collection<Long>, Set<Long>> existing) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        var missing = new TreeSet<>(ids);
+        missing.removeAll(existing.apply(ids));
+        return missing;
+    }
+
+    private static String normalize(String constraintName) {
+        var name = constraintName.toLowerCase(Locale.ROOT);
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+}
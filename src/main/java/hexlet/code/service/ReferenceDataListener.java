@@ -0,0 +1,21 @@
+package hexlet.code.service;
+
+import hexlet.code.model.BaseEntity;
+import hexlet.code.util.Transactions;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+@AllArgsConstructor
+public class ReferenceDataListener {
+    private final ObjectProvider<ReferenceDataRegistry> registry;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(BaseEntity entity) {
+        Transactions.afterCommit(() -> registry.getObject().invalidate());
+    }
+}
@@ -0,0 +1,202 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.label.LabelDTO;
+import hexlet.code.dto.taskstatus.TaskStatusDTO;
+import hexlet.code.mapper.LabelMapper;
+import hexlet.code.mapper.TaskStatusMapper;
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.VersionStamp;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataRegistry {
+    // bounds staleness for writes that bypass ReferenceDataListener: other instances, migrations, manual SQL
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    private final TaskStatusRepository taskStatusRepository;
+    private final LabelRepository labelRepository;
+    private final TaskStatusMapper taskStatusMapper;
+    private final LabelMapper labelMapper;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private record Snapshot(Map<String, TaskStatus> statusesBySlug, Map<Long, Label> labelsById,
+                            List<TaskStatusDTO> statusDTOS, List<LabelDTO> labelDTOS,
+                            VersionStamp statusStamp, VersionStamp labelStamp, long loadedAt) {
+        boolean isExpired() {
+            return System.nanoTime() - loadedAt > TTL.toNanos();
+        }
+    }
+
+    public Optional<TaskStatus> findStatus(String slug) {
+        var snapshot = snapshot();
+        var status = snapshot.statusesBySlug().get(slug);
+        if (status == null) {
+            status = reload(snapshot).statusesBySlug().get(slug);
+        }
+        return Optional.ofNullable(status).map(ReferenceDataRegistry::copy);
+    }
+
+    public List<Long> statusIds(Collection<String> slugs) {
+        var snapshot = snapshot();
+        var statuses = snapshot.statusesBySlug();
+        if (!statuses.keySet().containsAll(slugs)) {
+            statuses = reload(snapshot).statusesBySlug();
+        }
+        return slugs.stream()
+                .map(statuses::get)
+                .filter(Objects::nonNull)
+                .map(TaskStatus::getId)
+                .toList();
+    }
+
+    public Set<Label> findLabels(Collection<Long> ids) {
+        var snapshot = snapshot();
+        var labels = snapshot.labelsById();
+        if (!labels.keySet().containsAll(ids)) {
+            labels = reload(snapshot).labelsById();
+        }
+        return ids.stream()
+                .map(labels::get)
+                .filter(Objects::nonNull)
+                .map(ReferenceDataRegistry::copy)
+                .collect(Collectors.toSet());
+    }
+
+    public Set<String> missingSlugs(Collection<String> slugs) {
+        var snapshot = snapshot();
+        var statuses = snapshot.statusesBySlug();
+        if (!statuses.keySet().containsAll(slugs)) {
+            statuses = reload(snapshot).statusesBySlug();
+        }
+        return missing(slugs, statuses);
+    }
+
+    public Set<Long> missingLabelIds(Collection<Long> ids) {
+        var snapshot = snapshot();
+        var labels = snapshot.labelsById();
+        if (!labels.keySet().containsAll(ids)) {
+            labels = reload(snapshot).labelsById();
+        }
+        return missing(ids, labels);
+    }
+
+    public List<TaskStatusDTO> statuses() {
+        return snapshot().statusDTOS();
+    }
+
+    public VersionStamp statusStamp() {
+        return snapshot().statusStamp();
+    }
+
+    public List<LabelDTO> labels() {
+        return snapshot().labelDTOS();
+    }
+
+    public VersionStamp labelStamp() {
+        return snapshot().labelStamp();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        current.set(null);
+    }
+
+    private Snapshot snapshot() {
+        var snapshot = current.get();
+        return snapshot != null && !snapshot.isExpired() ? snapshot : reload(snapshot);
+    }
+
+    /**
+     * Single flight: callers that found the same snapshot stale or incomplete queue up here, the first one
+     * reloads and the rest return its result instead of querying again.
+     */
+    private synchronized Snapshot reload(Snapshot stale) {
+        var latest = current.get();
+        if (latest != null && latest != stale && !latest.isExpired()) {
+            return latest;
+        }
+        var startedAt = generation.get();
+        var statuses = taskStatusRepository.findAll().stream()
+                .map(ReferenceDataRegistry::copy)
+                .sorted(Comparator.comparingLong(TaskStatus::getId))
+                .toList();
+        var labels = labelRepository.findAll().stream()
+                .map(ReferenceDataRegistry::copy)
+                .sorted(Comparator.comparingLong(Label::getId))
+                .toList();
+        var snapshot = new Snapshot(
+                index(statuses, TaskStatus::getSlug),
+                index(labels, Label::getId),
+                statuses.stream().map(taskStatusMapper::map).toList(),
+                labels.stream().map(labelMapper::map).toList(),
+                stamp(statuses, TaskStatus::getId, TaskStatus::getVersion),
+                stamp(labels, Label::getId, Label::getVersion),
+                System.nanoTime()
+        );
+        current.set(snapshot);
+        if (generation.get() != startedAt) {
+            current.compareAndSet(snapshot, null);
+        }
+        return snapshot;
+    }
+
+    private static <K> Set<K> missing(Collection<K> keys, Map<K, ?> values) {
+        return keys.stream()
+                .filter(key -> !values.containsKey(key))
+                .collect(Collectors.toSet());
+    }
+
+    private static <K, V> Map<K, V> index(List<V> values, Function<V, K> key) {
+        return values.stream().collect(Collectors.toUnmodifiableMap(key, Function.identity()));
+    }
+
+    private static <V> VersionStamp stamp(List<V> values, ToLongFunction<V> id, Function<V, Long> version) {
+        return new VersionStamp(
+                values.size(),
+                values.stream().map(version).mapToLong(Long::longValue).sum(),
+                values.stream().mapToLong(id).max().orElse(0)
+        );
+    }
+
+    private static TaskStatus copy(TaskStatus source) {
+        var status = new TaskStatus();
+        status.setId(source.getId());
+        status.setName(source.getName());
+        status.setSlug(source.getSlug());
+        status.setVersion(source.getVersion());
+        status.setCreatedAt(source.getCreatedAt());
+        status.setUpdatedAt(source.getUpdatedAt());
+        return status;
+    }
+
+    private static Label copy(Label source) {
+        var label = new Label();
+        label.setId(source.getId());
+        label.setName(source.getName());
+        label.setVersion(source.getVersion());
+        label.setCreatedAt(source.getCreatedAt());
+        label.setUpdatedAt(source.getUpdatedAt());
+        return label;
+    }
+}
@@ -0,0 +1,28 @@
+package hexlet.code.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.dto.task.TaskFacetsDTO;
+import hexlet.code.dto.task.TaskParamsDTO;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.specification.TaskFilterKey;
+import hexlet.code.specification.TaskSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+@Service
+@RequiredArgsConstructor
+public final class TaskFacetsService {
+    private final TaskRepository taskRepository;
+    private final TaskSpecification specBuilder;
+    private final Cache<TaskFilterKey, TaskFacetsDTO> cache = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(5))
+            .maximumSize(1000)
+            .build();
+
+    public TaskFacetsDTO count(TaskParamsDTO params) {
+        return cache.get(TaskFilterKey.of(params), key -> taskRepository.countFacets(specBuilder.build(params)));
+    }
+}
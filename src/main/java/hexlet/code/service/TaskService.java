@@ -0,0 +1,211 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.FieldSelection;
+import hexlet.code.dto.task.TaskBatchResultDTO;
+import hexlet.code.dto.task.TaskBulkResultDTO;
+import hexlet.code.dto.task.TaskBulkUpdateDTO;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.exception.BulkRequestException;
+import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskBulkChange;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.search.TaskIndexUpdater;
+import hexlet.code.specification.TaskSpecification;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public final class TaskService {
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TaskMapper taskMapper;
+    private final ReferenceDataRegistry referenceData;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskSpecification specBuilder;
+    private final TaskIndexUpdater indexUpdater;
+    private final ForeignKeyViolations foreignKeyViolations;
+
+    public void save(Task task) {
+        try {
+            taskRepository.save(task);
+        } catch (DataIntegrityViolationException e) {
+            throw foreignKeyViolations.translate(e, List.of(task));
+        }
+    }
+
+    public List<TaskBatchResultDTO> createAll(List<TaskCreateDTO> items) {
+        var missingSlugs = referenceData.missingSlugs(collect(items, item -> Stream.ofNullable(item.getStatus())));
+        var missingLabelIds = referenceData.missingLabelIds(
+                collect(items, item -> Stream.ofNullable(item.getTaskLabelIds()).flatMap(Set::stream))
+        );
+        var assigneeIds = collect(items, item -> Stream.ofNullable(item.getAssigneeId()));
+        var existingAssignees = assigneeIds.isEmpty() ? Set.<Long>of() : userRepository.findExistingIds(assigneeIds);
+
+        var results = new TaskBatchResultDTO[items.size()];
+        var positions = new ArrayList<Integer>();
+        var tasks = new ArrayList<Task>();
+        for (var i = 0; i < items.size(); i++) {
+            var item = items.get(i);
+            var invalid = validate(item);
+            if (!invalid.isEmpty()) {
+                results[i] = TaskBatchResultDTO.failed(HttpStatus.BAD_REQUEST.value(), invalid);
+                continue;
+            }
+            var unresolved = unresolved(item, missingSlugs, missingLabelIds, existingAssignees);
+            if (!unresolved.isEmpty()) {
+                results[i] = TaskBatchResultDTO.failed(HttpStatus.NOT_FOUND.value(), unresolved);
+                continue;
+            }
+            positions.add(i);
+            tasks.add(taskMapper.map(item));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                taskRepository.saveAll(tasks);
+                taskRepository.flush();
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw foreignKeyViolations.translate(e, tasks);
+        }
+
+        for (var i = 0; i < tasks.size(); i++) {
+            results[positions.get(i)] = TaskBatchResultDTO.created(taskMapper.map(tasks.get(i)));
+            taskRepository.detach(tasks.get(i));
+        }
+        return Arrays.asList(results);
+    }
+
+    public TaskBulkResultDTO updateAll(TaskBulkUpdateDTO data) {
+        if (data.getIds() == null && data.getFilter() == null) {
+            throw new BulkRequestException("Either ids or filter is required");
+        }
+        if (!data.hasChanges()) {
+            throw new BulkRequestException("Nothing to update");
+        }
+        var change = resolve(data);
+
+        var result = new TaskBulkResultDTO();
+        transactionTemplate.executeWithoutResult(status -> {
+            var spec = Specification.<Task>where(null);
+            if (data.getFilter() != null) {
+                spec = spec.and(specBuilder.build(data.getFilter(), Optional.empty()));
+            }
+            if (data.getIds() != null) {
+                spec = spec.and(specBuilder.byIds(data.getIds()));
+            }
+            var ids = taskRepository.findAllProjected(spec, MAX_BATCH_SIZE + 1, FieldSelection.of(Set.of("id")))
+                    .stream()
+                    .map(TaskDTO::getId)
+                    .toList();
+            if (ids.size() > MAX_BATCH_SIZE) {
+                throw new BulkRequestException("Filter matches more than " + MAX_BATCH_SIZE + " tasks");
+            }
+            if (ids.isEmpty()) {
+                return;
+            }
+
+            result.setUpdated(taskRepository.bulkUpdate(ids, change));
+
+            var current = taskRepository.findAllProjected(
+                    specBuilder.byIds(ids), null, FieldSelection.of(Set.of("status", "taskLabelIds")));
+            var statusIdsBySlug = new HashMap<String, Long>();
+            var statusIds = new HashMap<Long, Long>();
+            var labelIds = new HashMap<Long, Set<Long>>();
+            for (var task : current) {
+                statusIds.put(task.getId(), statusIdsBySlug.computeIfAbsent(task.getStatus(),
+                        slug -> referenceData.findStatus(slug).map(TaskStatus::getId).orElseThrow()));
+                labelIds.put(task.getId(), task.getTaskLabelIds());
+            }
+            indexUpdater.bulkUpdated(statusIds, labelIds);
+        });
+        return result;
+    }
+
+    private TaskBulkChange resolve(TaskBulkUpdateDTO data) {
+        var statusId = data.getStatus() == null ? null
+                : referenceData.findStatus(data.getStatus())
+                .map(TaskStatus::getId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Task status with slug " + data.getStatus() + " not found"));
+
+        var assigneeId = data.getAssigneeId().orElse(null);
+        if (assigneeId != null && !userRepository.existsById(assigneeId)) {
+            throw new ResourceNotFoundException("User with id " + assigneeId + " not found");
+        }
+
+        var addLabelIds = data.getAddLabelIds() == null ? Set.<Long>of() : data.getAddLabelIds();
+        var removeLabelIds = data.getRemoveLabelIds() == null ? Set.<Long>of() : data.getRemoveLabelIds();
+        var labelIds = new HashSet<>(addLabelIds);
+        labelIds.addAll(removeLabelIds);
+        var missing = referenceData.missingLabelIds(labelIds);
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Labels with ids " + missing + " not found");
+        }
+
+        return new TaskBulkChange(statusId, data.getAssigneeId().isPresent(), assigneeId,
+                addLabelIds, removeLabelIds);
+    }
+
+    private List<String> validate(TaskCreateDTO item) {
+        if (item == null) {
+            return List.of("task must not be null");
+        }
+        return validator.validate(item).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    private static List<String> unresolved(TaskCreateDTO item, Set<String> missingSlugs, Set<Long> missingLabelIds,
+                                           Set<Long> existingAssignees) {
+        var errors = new ArrayList<String>();
+        if (missingSlugs.contains(item.getStatus())) {
+            errors.add("Task status with slug " + item.getStatus() + " not found");
+        }
+        if (item.getAssigneeId() != null && !existingAssignees.contains(item.getAssigneeId())) {
+            errors.add("User with id " + item.getAssigneeId() + " not found");
+        }
+        if (item.getTaskLabelIds() != null) {
+            item.getTaskLabelIds().stream()
+                    .filter(missingLabelIds::contains)
+                    .sorted()
+                    .forEach(id -> errors.add("Label with id " + id + " not found"));
+        }
+        return errors;
+    }
+
+    private static <T> Set<T> collect(List<TaskCreateDTO> items, Function<TaskCreateDTO, Stream<T>> values) {
+        return items.stream()
+                .filter(Objects::nonNull)
+                .flatMap(values)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,134 @@
+package hexlet.code.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import hexlet.code.dto.task.TaskCreateDTO;
+import hexlet.code.dto.task.TaskDTO;
+import hexlet.code.dto.task.TaskImportResultDTO;
+import hexlet.code.model.Task;
+import hexlet.code.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public final class TaskTransferService {
+    public static final String TEXT_CSV = "text/csv";
+    private static final int MAX_REPORTED_FAILURES = 100;
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .findAndAddModules()
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .filterProvider(new SimpleFilterProvider().setFailOnUnknownId(false))
+            .build();
+    private static final CsvSchema EXPORT_SCHEMA = CSV_MAPPER.schemaFor(TaskDTO.class)
+            .withHeader()
+            .withArrayElementSeparator(";");
+    private static final CsvSchema IMPORT_SCHEMA = CsvSchema.emptySchema()
+            .withHeader()
+            .withArrayElementSeparator(";");
+
+    private final TaskRepository taskRepository;
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public void exportNdjson(Specification<Task> spec, OutputStream out) throws IOException {
+        try (var writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            export(spec, writer);
+        }
+    }
+
+    public void exportCsv(Specification<Task> spec, OutputStream out) throws IOException {
+        try (var writer = CSV_MAPPER.writerFor(TaskDTO.class).with(EXPORT_SCHEMA).writeValues(out)) {
+            export(spec, writer);
+        }
+    }
+
+    public TaskImportResultDTO importNdjson(InputStream in, int batchSize) throws IOException {
+        try (MappingIterator<TaskCreateDTO> items = objectMapper.readerFor(TaskCreateDTO.class).readValues(in)) {
+            return importAll(items, batchSize);
+        }
+    }
+
+    public TaskImportResultDTO importCsv(InputStream in, int batchSize) throws IOException {
+        try (MappingIterator<TaskCreateDTO> items = CSV_MAPPER.readerFor(TaskCreateDTO.class)
+                .with(IMPORT_SCHEMA)
+                .readValues(in)) {
+            return importAll(items, batchSize);
+        }
+    }
+
+    private void export(Specification<Task> spec, SequenceWriter writer) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (var tasks = taskRepository.streamAll(spec)) {
+                tasks.forEach(taskDTO -> write(writer, taskDTO));
+            }
+        });
+    }
+
+    private static void write(SequenceWriter writer, TaskDTO taskDTO) {
+        try {
+            writer.write(taskDTO);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private TaskImportResultDTO importAll(MappingIterator<TaskCreateDTO> items, int batchSize) {
+        var result = new TaskImportResultDTO();
+        var batch = new ArrayList<TaskCreateDTO>(batchSize);
+        long record = 0;
+        try {
+            while (items.hasNextValue()) {
+                batch.add(items.nextValue());
+                record++;
+                if (batch.size() == batchSize) {
+                    commit(batch, record, result);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            result.setError("Malformed record " + (record + 1) + ": " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!batch.isEmpty()) {
+            commit(batch, record, result);
+        }
+        return result;
+    }
+
+    private void commit(List<TaskCreateDTO> batch, long lastRecord, TaskImportResultDTO result) {
+        var results = taskService.createAll(batch);
+        var firstRecord = lastRecord - batch.size() + 1;
+        for (var i = 0; i < results.size(); i++) {
+            var item = results.get(i);
+            if (item.getTask() != null) {
+                result.setCreated(result.getCreated() + 1);
+                continue;
+            }
+            result.setFailed(result.getFailed() + 1);
+            if (result.getFailures().size() < MAX_REPORTED_FAILURES) {
+                result.getFailures().put(firstRecord + i, item.getErrors());
+            }
+        }
+        batch.clear();
+    }
+}
@@ -0,0 +1,40 @@
+package hexlet.code.service;
+
+import hexlet.code.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+public record UserPrincipal(long id, String username, String password,
+                            List<GrantedAuthority> authorities) implements UserDetails {
+    public static UserPrincipal of(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(),
+                List.<GrantedAuthority>copyOf(user.getAuthorities()));
+    }
+
+    public UserPrincipal withoutPassword() {
+        return password == null ? this : new UserPrincipal(id, username, null, authorities);
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal[id=" + id + ", username=" + username + "]";
+    }
+}
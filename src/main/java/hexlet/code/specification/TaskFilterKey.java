@@ -0,0 +1,50 @@
+package hexlet.code.specification;
+
+import hexlet.code.dto.task.TaskParamsDTO;
+import hexlet.code.search.TaskSnapshot;
+
+import java.util.Locale;
+import java.util.Set;
+
+public record TaskFilterKey(
+        String titleCont,
+        Long assigneeId,
+        Set<String> status,
+        Long labelId,
+        Set<Long> labelIds,
+        boolean anyLabel
+) {
+    public static TaskFilterKey of(TaskParamsDTO params) {
+        var titleCont = params.getTitleCont();
+        return new TaskFilterKey(
+                titleCont == null ? null : titleCont.toLowerCase(Locale.ROOT),
+                params.getAssigneeId(),
+                normalize(params.getStatus()),
+                params.getLabelId(),
+                normalize(params.getLabelIds()),
+                params.isAnyLabel()
+        );
+    }
+
+    public boolean isEmpty() {
+        return titleCont == null && assigneeId == null && status == null && labelId == null && labelIds == null;
+    }
+
+    public boolean mayMatch(TaskSnapshot task) {
+        return (titleCont == null || task.name() != null && task.name().toLowerCase(Locale.ROOT).contains(titleCont))
+                && (assigneeId == null || assigneeId.equals(task.assigneeId()))
+                && (status == null || task.statusSlug() == null || status.contains(task.statusSlug()))
+                && (labelId == null || task.labelIds() == null || task.labelIds().contains(labelId))
+                && (labelIds == null || task.labelIds() == null || matchesLabels(task.labelIds()));
+    }
+
+    private boolean matchesLabels(Set<Long> taskLabelIds) {
+        return anyLabel
+                ? labelIds.stream().anyMatch(taskLabelIds::contains)
+                : taskLabelIds.containsAll(labelIds);
+    }
+
+    private static <T> Set<T> normalize(Set<T> values) {
+        return values == null || values.isEmpty() ? null : Set.copyOf(values);
+    }
+}
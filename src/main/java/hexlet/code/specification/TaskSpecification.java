@@ -2,23 +2,97 @@ package hexlet.code.specification;
 
 import hexlet.code.dto.task.TaskParamsDTO;
 import hexlet.code.model.Task;
-import jakarta.persistence.criteria.JoinType;
+import hexlet.code.search.TaskFilterIndex;
+import hexlet.code.search.TaskSearchIndex;
+import hexlet.code.service.ReferenceDataRegistry;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.AllArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 @Component
+@AllArgsConstructor
 public final class TaskSpecification {
+    private static final int MAX_INLINE_IDS = 1000;
+
+    private final TitleSearch titleSearch;
+    private final TaskFilterIndex filterIndex;
+    private final ReferenceDataRegistry referenceData;
+
     public Specification<Task> build(TaskParamsDTO params) {
-        return withTitleCont(params.getTitleCont())
+        return build(params, candidateIds(params));
+    }
+
+    public Specification<Task> build(TaskParamsDTO params, Optional<List<Long>> candidates) {
+        var spec = withTitleCont(params.getTitleCont())
                 .and(withAssigneeId(params.getAssigneeId()))
-                .and(withStatus(params.getStatus()))
                 .and(withLabelId(params.getLabelId()));
+        return candidates
+                .map(ids -> spec.and(withCandidates(ids)))
+                .orElseGet(() -> spec
+                        .and(withStatus(params.getStatus()))
+                        .and(withLabelIds(params.getLabelIds(), params.isAnyLabel())));
+    }
+
+    public Specification<Task> buildPage(TaskParamsDTO params) {
+        return buildPage(params, candidateIds(params));
+    }
+
+    public Specification<Task> buildPage(TaskParamsDTO params, Optional<List<Long>> candidates) {
+        return params.isRanked()
+                ? build(params, candidates).and(withRelevance(params.getTitleCont()))
+                : build(params, candidates).and(withIdAfter(params.getAfter()));
+    }
+
+    /**
+     * Database fallback for {@link TaskSearchIndex#search}: every query term has to occur in the name or the
+     * description, the same fields and the same AND across terms as the index. Terms are matched as
+     * substrings rather than token prefixes, so the fallback can return a few extra tasks but never misses one.
+     */
+    public Specification<Task> search(String query, Long after) {
+        var terms = TaskSearchIndex.terms(query);
+        Specification<Task> spec = (root, q, cb) -> terms.isEmpty()
+                ? cb.disjunction()
+                : cb.and(terms.stream()
+                        .map(TitleSearch::likePattern)
+                        .map(pattern -> cb.or(
+                                cb.like(cb.lower(root.get("name")), pattern, '\\'),
+                                cb.like(cb.lower(root.get("description")), pattern, '\\')))
+                        .toArray(Predicate[]::new));
+        return spec.and(withIdAfter(after));
+    }
+
+    public Specification<Task> byIds(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public Optional<List<Long>> candidateIds(TaskParamsDTO params) {
+        var statuses = params.getStatus();
+        var labelIds = params.getLabelIds();
+        var hasStatuses = statuses != null && !statuses.isEmpty();
+        var hasLabels = labelIds != null && !labelIds.isEmpty();
+        if (!filterIndex.isReady() || !hasStatuses && !hasLabels) {
+            return Optional.empty();
+        }
+        var statusIds = hasStatuses ? referenceData.statusIds(statuses) : null;
+        return filterIndex.match(statusIds, hasLabels ? labelIds : null, !params.isAnyLabel())
+                .filter(ids -> ids.getLongCardinality() <= MAX_INLINE_IDS)
+                .map(ids -> Arrays.stream(ids.toArray()).boxed().toList());
     }
 
     private Specification<Task> withTitleCont(String substring) {
         return (root, query, cb) -> substring == null
                 ? cb.conjunction()
-                : cb.like(cb.lower(root.get("name")), "%" + substring.toLowerCase() + "%");
+                : titleSearch.contains(root, cb, substring);
     }
 
     private Specification<Task> withAssigneeId(Long assigneeId) {
@@ -27,15 +101,55 @@ public final class TaskSpecification {
                 : cb.equal(root.get("assignee").get("id"), assigneeId);
     }
 
-    private Specification<Task> withStatus(String status) {
-        return (root, query, cb) -> status == null
+    private Specification<Task> withStatus(Set<String> statuses) {
+        return (root, query, cb) -> statuses == null || statuses.isEmpty()
                 ? cb.conjunction()
-                : cb.equal(root.get("taskStatus").get("slug"), status);
+                : root.get("taskStatus").get("slug").in(statuses);
     }
 
     private Specification<Task> withLabelId(Long labelId) {
         return (root, query, cb) -> labelId == null
                 ? cb.conjunction()
-                : cb.equal(root.join("labels", JoinType.INNER).get("id"), labelId);
+                : hasAnyLabel(root, query, cb, List.of(labelId));
+    }
+
+    private Specification<Task> withLabelIds(Set<Long> labelIds, boolean any) {
+        return (root, query, cb) -> {
+            if (labelIds == null || labelIds.isEmpty()) {
+                return cb.conjunction();
+            }
+            if (any) {
+                return hasAnyLabel(root, query, cb, labelIds);
+            }
+            return cb.and(labelIds.stream()
+                    .map(labelId -> hasAnyLabel(root, query, cb, List.of(labelId)))
+                    .toArray(Predicate[]::new));
+        };
+    }
+
+    private Specification<Task> withCandidates(List<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
+    private static Predicate hasAnyLabel(Root<Task> root, CriteriaQuery<?> query, CriteriaBuilder cb,
+                                         Collection<Long> labelIds) {
+        var subquery = query.subquery(Long.class);
+        var label = subquery.correlate(root).join("labels");
+        subquery.select(label.get("id"))
+                .where(label.get("id").in(labelIds));
+        return cb.exists(subquery);
+    }
+
+    private Specification<Task> withIdAfter(Long id) {
+        return (root, query, cb) -> id == null
+                ? cb.conjunction()
+                : cb.greaterThan(root.get("id"), id);
+    }
+
+    private Specification<Task> withRelevance(String substring) {
+        return (root, query, cb) -> {
+            query.orderBy(titleSearch.relevance(root, cb, substring));
+            return cb.conjunction();
+        };
     }
 }
@@ -0,0 +1,50 @@
+package hexlet.code.specification;
+
+import hexlet.code.model.Task;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * {@code titleCont} is a plain substring filter on every database. On PostgreSQL the {@code lower(name)} LIKE is
+ * served by the pg_trgm GIN index from V3 and matches are ranked by trigram similarity; elsewhere they are ranked
+ * by the position of the substring.
+ */
+@Component
+final class TitleSearch {
+    private final boolean trigram;
+
+    TitleSearch(EntityManagerFactory entityManagerFactory) {
+        trigram = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+    }
+
+    Predicate contains(Root<Task> root, CriteriaBuilder cb, String substring) {
+        return cb.like(cb.lower(root.get("name")), likePattern(substring), '\\');
+    }
+
+    Order relevance(Root<Task> root, CriteriaBuilder cb, String substring) {
+        var name = cb.lower(root.get("name"));
+        var term = substring.toLowerCase(Locale.ROOT);
+        if (trigram) {
+            return cb.desc(cb.function("similarity", Double.class, name, cb.literal(term)));
+        }
+        return cb.asc(cb.locate(name, term));
+    }
+
+    static String likePattern(String substring) {
+        var escaped = substring.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
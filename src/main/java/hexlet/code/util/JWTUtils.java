@@ -12,15 +12,18 @@ import org.springframework.stereotype.Component;
 @Component
 @AllArgsConstructor
 public final class JWTUtils {
+    public static final String USER_ID_CLAIM = "uid";
+
     private final JwtEncoder encoder;
 
-    public String generateToken(String username) {
+    public String generateToken(String username, long userId) {
         Instant now = Instant.now();
         JwtClaimsSet claims = JwtClaimsSet.builder()
                 .issuer("self")
                 .issuedAt(now)
                 .expiresAt(now.plus(12, ChronoUnit.HOURS))
                 .subject(username)
+                .claim(USER_ID_CLAIM, userId)
                 .build();
         return this.encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
     }
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_tasks_task_status_id ON tasks (task_status_id, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_id ON tasks (assignee_id, id);
+CREATE INDEX IF NOT EXISTS idx_task_label_label_id ON task_label (label_id, task_id);
@@ -0,0 +1,15 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT NEXT VALUE FOR users_seq;
+
+CREATE SEQUENCE IF NOT EXISTS task_statuses_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE task_statuses ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE task_statuses ALTER COLUMN id SET DEFAULT NEXT VALUE FOR task_statuses_seq;
+
+CREATE SEQUENCE IF NOT EXISTS labels_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE labels ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE labels ALTER COLUMN id SET DEFAULT NEXT VALUE FOR labels_seq;
+
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE tasks ALTER COLUMN id SET DEFAULT NEXT VALUE FOR tasks_seq;
@@ -0,0 +1,48 @@
+CREATE TABLE users (
+    id bigint generated by default as identity PRIMARY KEY,
+    email varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    password varchar(255),
+    created_at date,
+    updated_at date,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE task_statuses (
+    id bigint generated by default as identity PRIMARY KEY,
+    name varchar(255),
+    slug varchar(255),
+    created_at date,
+    updated_at date,
+    CONSTRAINT uk_task_statuses_slug UNIQUE (slug)
+);
+
+CREATE TABLE labels (
+    id bigint generated by default as identity PRIMARY KEY,
+    name varchar(1000),
+    created_at date,
+    updated_at date,
+    CONSTRAINT uk_labels_name UNIQUE (name)
+);
+
+CREATE TABLE tasks (
+    id bigint generated by default as identity PRIMARY KEY,
+    name varchar(255),
+    index integer,
+    description text,
+    task_status_id bigint NOT NULL,
+    assignee_id bigint,
+    created_at date,
+    updated_at date,
+    CONSTRAINT fk_tasks_task_status FOREIGN KEY (task_status_id) REFERENCES task_statuses (id),
+    CONSTRAINT fk_tasks_assignee FOREIGN KEY (assignee_id) REFERENCES users (id)
+);
+
+CREATE TABLE task_label (
+    task_id bigint NOT NULL,
+    label_id bigint NOT NULL,
+    PRIMARY KEY (task_id, label_id),
+    CONSTRAINT fk_task_label_task FOREIGN KEY (task_id) REFERENCES tasks (id),
+    CONSTRAINT fk_task_label_label FOREIGN KEY (label_id) REFERENCES labels (id)
+);
@@ -0,0 +1,4 @@
+ALTER TABLE users ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE task_statuses ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE labels ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN version bigint NOT NULL DEFAULT 0;
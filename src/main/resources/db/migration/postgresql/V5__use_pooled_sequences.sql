@@ -0,0 +1,19 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+SELECT setval('users_seq', (SELECT coalesce(max(id), 0) + 50 FROM users), false);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+
+CREATE SEQUENCE IF NOT EXISTS task_statuses_seq INCREMENT BY 50;
+SELECT setval('task_statuses_seq', (SELECT coalesce(max(id), 0) + 50 FROM task_statuses), false);
+ALTER TABLE task_statuses ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE task_statuses ALTER COLUMN id SET DEFAULT nextval('task_statuses_seq');
+
+CREATE SEQUENCE IF NOT EXISTS labels_seq INCREMENT BY 50;
+SELECT setval('labels_seq', (SELECT coalesce(max(id), 0) + 50 FROM labels), false);
+ALTER TABLE labels ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE labels ALTER COLUMN id SET DEFAULT nextval('labels_seq');
+
+CREATE SEQUENCE IF NOT EXISTS tasks_seq INCREMENT BY 50;
+SELECT setval('tasks_seq', (SELECT coalesce(max(id), 0) + 50 FROM tasks), false);
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tasks ALTER COLUMN id SET DEFAULT nextval('tasks_seq');
@@ -0,0 +1,23 @@
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN
+        SELECT t.relname AS table_name, c.conname AS current_name, expected.name AS expected_name
+        FROM pg_constraint c
+        JOIN pg_class t ON t.oid = c.conrelid
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+        JOIN (VALUES ('tasks', 'task_status_id', 'fk_tasks_task_status'),
+                     ('tasks', 'assignee_id', 'fk_tasks_assignee'),
+                     ('task_label', 'task_id', 'fk_task_label_task'),
+                     ('task_label', 'label_id', 'fk_task_label_label'))
+            AS expected (table_name, column_name, name)
+            ON expected.table_name = t.relname AND expected.column_name = a.attname
+        WHERE c.contype = 'f'
+          AND t.relnamespace = current_schema()::regnamespace
+          AND c.conname <> expected.name
+    LOOP
+        EXECUTE format('ALTER TABLE %I RENAME CONSTRAINT %I TO %I', fk.table_name, fk.current_name, fk.expected_name);
+    END LOOP;
+END
+$$;
@@ -0,0 +1,118 @@
+package hexlet.code.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.BoundedPasswordEncoder;
+import hexlet.code.component.PasswordHashingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@SpringBootTest(properties = {
+    "spring.main.allow-bean-definition-overriding=true",
+    "password-hashing.threads=1",
+    "password-hashing.queue-capacity=1",
+    "password-hashing.retry-after=3s"
+})
+@AutoConfigureMockMvc
+class PasswordHashingBusyTest {
+    private static final String BLOCKING_PASSWORD = "block the worker";
+    private static final CountDownLatch STARTED = new CountDownLatch(1);
+    private static final CountDownLatch RELEASE = new CountDownLatch(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Test
+    public void testBusyHashingReturnsTooManyRequests() throws Exception {
+        var worker = CompletableFuture.runAsync(() -> passwordEncoder.encode(BLOCKING_PASSWORD));
+        CompletableFuture<String> queued = null;
+        try {
+            assertThat(STARTED.await(10, TimeUnit.SECONDS)).isTrue();
+            queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("queued"));
+            var queueSize = meterRegistry.get("executor.queued").tag("name", "password.hashing").gauge();
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (queueSize.value() < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(queueSize.value()).isEqualTo(1);
+
+            mockMvc.perform(get("/api/users").with(httpBasic("hexlet@example.com", "qwerty")))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"));
+
+            var data = Map.of("email", "busy@example.com", "firstName", "Busy", "lastName", "User",
+                    "password", "secret");
+            mockMvc.perform(post("/api/users").with(jwt())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsString(data)))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"));
+        } finally {
+            RELEASE.countDown();
+        }
+        worker.get(10, TimeUnit.SECONDS);
+        queued.get(10, TimeUnit.SECONDS);
+    }
+
+    @TestConfiguration
+    static class BlockingEncoderConfig {
+        @Bean
+        PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+            var bcrypt = new BCryptPasswordEncoder();
+            return new BoundedPasswordEncoder(new PasswordEncoder() {
+                @Override
+                public String encode(CharSequence rawPassword) {
+                    if (BLOCKING_PASSWORD.contentEquals(rawPassword)) {
+                        STARTED.countDown();
+                        awaitRelease();
+                    }
+                    return bcrypt.encode(rawPassword);
+                }
+
+                @Override
+                public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                    return bcrypt.matches(rawPassword, encodedPassword);
+                }
+            }, properties, meterRegistry);
+        }
+
+        private static void awaitRelease() {
+            try {
+                RELEASE.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -1,14 +1,19 @@
 package hexlet.code.controller.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.JWTUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.HashMap;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -21,6 +26,15 @@ public class AuthenticationControllerTest {
     @Autowired
     private ObjectMapper om;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtDecoder jwtDecoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
     @Test
     public void testLogin() throws Exception {
         var data = new HashMap<>();
@@ -31,9 +45,33 @@ public class AuthenticationControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(om.writeValueAsString(data));
 
-        mockMvc.perform(request)
+        var token = mockMvc.perform(request)
                 .andExpect(status().isOk())
-                .andReturn();
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var user = userRepository.findByEmail("hexlet@example.com").get();
+        var claims = jwtDecoder.decode(token).getClaims();
+        assertThat(claims.get(JWTUtils.USER_ID_CLAIM)).isEqualTo(user.getId());
+    }
+
+    @Test
+    public void testLoginHashingMetrics() throws Exception {
+        var latency = meterRegistry.get("password.hashing.latency").tag("operation", "matches").timer();
+        var before = latency.count();
+
+        var data = new HashMap<>();
+        data.put("username", "hexlet@example.com");
+        data.put("password", "wrong password");
+        var request = post("/api/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(data));
+        mockMvc.perform(request)
+                .andExpect(status().isUnauthorized());
+
+        assertThat(latency.count()).isEqualTo(before + 1);
+        assertThat(meterRegistry.get("executor.queued").tag("name", "password.hashing").gauge().value()).isZero();
     }
 
     @Test
@@ -30,6 +30,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
@@ -98,6 +99,23 @@ class LabelsControllerTest {
         Assertions.assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
     }
 
+    @Test
+    public void testIndexNotModified() throws Exception {
+        var etag = mockMvc.perform(get("/api/labels").with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/labels").with(jwt()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        modelGenerator.getNewSavedLabel();
+
+        mockMvc.perform(get("/api/labels").with(jwt()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
     @Test
     public void testCreate() throws Exception {
         var name = String.join(" ", faker.lorem().words(9));
@@ -171,6 +189,30 @@ class LabelsControllerTest {
         );
     }
 
+    @Test
+    public void testUpdateIfMatchMismatch() throws Exception {
+        var label = modelGenerator.getNewSavedLabel();
+        var url = "/api/labels/" + label.getId();
+        var etag = mockMvc.perform(get(url).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        var concurrentName = String.join(" ", faker.lorem().words(9));
+        label.setName(concurrentName);
+        labelRepository.save(label);
+
+        var data = new HashMap<>();
+        data.put("name", String.join(" ", faker.lorem().words(9)));
+        mockMvc.perform(put(url).with(jwt())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(data)))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(labelRepository.findById(label.getId()).get().getName()).isEqualTo(concurrentName);
+    }
+
     @Test
     public void testDestroy() throws Exception {
         var label = modelGenerator.getNewSavedLabel();
@@ -28,13 +28,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.service.ReferenceDataRegistry;
 import net.datafaker.Faker;
 import org.springframework.web.context.WebApplicationContext;
 import hexlet.code.util.Utils;
@@ -68,6 +71,12 @@ class TaskStatusesControllerTest {
     @Autowired
     private ModelGenerator modelGenerator;
 
+    @Autowired
+    private ReferenceDataRegistry referenceData;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private JwtRequestPostProcessor token;
 
     @BeforeEach
@@ -93,6 +102,22 @@ class TaskStatusesControllerTest {
         Assertions.assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
     }
 
+    @Test
+    public void testIndexReflectsWrites() throws Exception {
+        mockMvc.perform(get("/api/task_statuses").with(jwt()))
+                .andExpect(status().isOk());
+        var taskStatus = modelGenerator.getNewSavedTaskStatus();
+
+        var body = mockMvc.perform(get("/api/task_statuses").with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<TaskStatusDTO> taskStatusDTOS = om.readValue(body, new TypeReference<>() { });
+        assertThat(taskStatusDTOS).extracting(TaskStatusDTO::getSlug).contains(taskStatus.getSlug());
+    }
+
     @Test
     public void testCreate() throws Exception {
         var name = faker.lorem().word();
@@ -172,6 +197,50 @@ class TaskStatusesControllerTest {
         );
     }
 
+    @Test
+    public void testUpdateIfMatch() throws Exception {
+        var taskStatus = modelGenerator.getNewSavedTaskStatus();
+        var url = "/api/task_statuses/" + taskStatus.getId();
+        var etag = mockMvc.perform(get(url).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        var data = new HashMap<>();
+        data.put("name", faker.lorem().word());
+        var response = mockMvc.perform(put(url).with(jwt())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(data)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        assertThatJson(response.getContentAsString()).node("version").isEqualTo(taskStatus.getVersion() + 1);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+
+        data.put("name", faker.lorem().word());
+        mockMvc.perform(put(url).with(jwt())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(data)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    public void testStatusIdsReloadOnMiss() {
+        referenceData.statuses();
+        var slug = "external_" + faker.internet().slug();
+        jdbcTemplate.update("INSERT INTO task_statuses (name, slug) VALUES (?, ?)", slug, slug);
+        try {
+            var id = jdbcTemplate.queryForObject("SELECT id FROM task_statuses WHERE slug = ?", Long.class, slug);
+            assertThat(referenceData.statusIds(List.of(slug))).containsExactly(id);
+        } finally {
+            jdbcTemplate.update("DELETE FROM task_statuses WHERE slug = ?", slug);
+            referenceData.invalidate();
+        }
+    }
+
     @Test
     public void testDestroy() throws Exception {
         var taskStatus = modelGenerator.getNewSavedTaskStatus();
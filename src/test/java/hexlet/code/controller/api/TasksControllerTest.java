@@ -6,22 +6,34 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 
+import hexlet.code.dto.task.TaskParamsDTO;
 import hexlet.code.model.Label;
+import hexlet.code.model.Task;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.specification.TaskSpecification;
 import hexlet.code.util.ModelGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.HashMap;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -34,15 +46,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import hexlet.code.repository.TaskRepository;
 import net.datafaker.Faker;
 import org.springframework.web.context.WebApplicationContext;
 import hexlet.code.util.Utils;
+import io.micrometer.core.instrument.MeterRegistry;
 
 
 @SpringBootTest
@@ -82,6 +101,21 @@ class TasksControllerTest {
     @Autowired
     private ModelGenerator modelGenerator;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskSpecification specBuilder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private JwtRequestPostProcessor token;
 
     @BeforeEach
@@ -103,10 +137,40 @@ class TasksControllerTest {
         List<TaskDTO> taskDTOS = om.readValue(body, new TypeReference<>() { });
 
         var actual = taskDTOS.stream().map(taskMapper::map).toList();
-        var expected = taskRepository.findAll();
+        var expected = taskRepository.findAll(Sort.by("id")).stream()
+                .limit(TaskParamsDTO.DEFAULT_LIMIT)
+                .toList();
         Assertions.assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
     }
 
+    @Test
+    public void testIndexDefaultLimit() throws Exception {
+        var status = taskStatusRepository.findAll().getFirst();
+        var tasks = new ArrayList<Task>();
+        for (var i = 0; i <= TaskParamsDTO.DEFAULT_LIMIT; i++) {
+            var task = new Task();
+            task.setName("bounded " + i);
+            task.setTaskStatus(status);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+        try {
+            var response = mockMvc.perform(get("/api/tasks").with(jwt()))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse();
+            List<TaskDTO> taskDTOS = om.readValue(response.getContentAsString(), new TypeReference<>() { });
+
+            assertThat(taskDTOS).hasSize(TaskParamsDTO.DEFAULT_LIMIT);
+            assertThat(Long.parseLong(response.getHeader("X-Total-Count"))).isGreaterThan(TaskParamsDTO.DEFAULT_LIMIT);
+            assertThat(response.getHeader("Link"))
+                    .contains("after=" + taskDTOS.getLast().getId())
+                    .contains("rel=\"next\"");
+        } finally {
+            taskRepository.deleteAll(tasks);
+        }
+    }
+
     @Test
     public void testIndexComplexCondition() throws Exception {
         var task = modelGenerator.getNewSavedTask();
@@ -135,6 +199,330 @@ class TasksControllerTest {
         );
     }
 
+    @Test
+    public void testIndexCursor() throws Exception {
+        var first = modelGenerator.getNewSavedTask();
+        var second = modelGenerator.getNewSavedTask();
+
+        var url = "/api/tasks?limit=1&after=" + (first.getId() - 1);
+        var response = mockMvc.perform(get(url).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        assertThat(response.getHeader("X-Total-Count")).isEqualTo(String.valueOf(taskRepository.count()));
+        assertThat(response.getHeader("Link")).contains("after=" + first.getId()).contains("rel=\"next\"");
+        assertThatJson(response.getContentAsString()).isArray().hasSize(1);
+        assertThatJson(response.getContentAsString()).node("[0].id").isEqualTo(first.getId());
+
+        var nextResponse = mockMvc.perform(get("/api/tasks?limit=1&after=" + first.getId()).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        assertThatJson(nextResponse.getContentAsString()).node("[0].id").isEqualTo(second.getId());
+    }
+
+    @Test
+    public void testIndexMultiLabelAndStatus() throws Exception {
+        var both = modelGenerator.getNewSavedTask();
+        var labelIds = both.getLabels().stream().map(Label::getId).toList();
+        var single = modelGenerator.getNewSavedTask();
+        single.setLabels(Set.of(labelRepository.findById(labelIds.getFirst()).get()));
+        single.setTaskStatus(modelGenerator.getNewSavedTaskStatus());
+        taskRepository.save(single);
+
+        var labels = labelIds.get(0) + "," + labelIds.get(1);
+        var all = mockMvc.perform(get("/api/tasks?labelIds=" + labels).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<TaskDTO> allDTOS = om.readValue(all, new TypeReference<>() { });
+        assertThat(allDTOS).extracting(TaskDTO::getId).containsExactly(both.getId());
+
+        var any = mockMvc.perform(get("/api/tasks?labelMode=any&labelIds=" + labels).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<TaskDTO> anyDTOS = om.readValue(any, new TypeReference<>() { });
+        assertThat(anyDTOS).extracting(TaskDTO::getId).containsExactly(both.getId(), single.getId());
+
+        var statuses = both.getTaskStatus().getSlug() + "," + single.getTaskStatus().getSlug();
+        var byStatus = mockMvc.perform(get("/api/tasks?labelMode=any&labelIds=" + labels + "&status=" + statuses)
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        assertThat(byStatus.getHeader("X-Total-Count")).isEqualTo("2");
+
+        var none = mockMvc.perform(get("/api/tasks?labelIds=" + labels + "&status=" + single.getTaskStatus().getSlug())
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        assertThat(none.getHeader("X-Total-Count")).isEqualTo("0");
+        assertThatJson(none.getContentAsString()).isArray().isEmpty();
+    }
+
+    @Test
+    public void testIndexCache() throws Exception {
+        var task = modelGenerator.getNewSavedTask();
+        var labelId = task.getLabels().iterator().next().getId();
+        var url = "/api/tasks?labelIds=" + labelId;
+        var hits = meterRegistry.get("cache.gets")
+                .tag("cache", "tasks.query")
+                .tag("result", "hit")
+                .functionCounter();
+
+        var first = mockMvc.perform(get(url).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        var hitsBefore = hits.count();
+        var second = mockMvc.perform(get(url).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(hits.count()).isEqualTo(hitsBefore + 1);
+        assertThatJson(second).isEqualTo(first);
+        assertThatJson(second).node("[0].id").isEqualTo(task.getId());
+
+        var data = new HashMap<>();
+        data.put("status", task.getTaskStatus().getSlug());
+        data.put("taskLabelIds", Set.of());
+        mockMvc.perform(put("/api/tasks/" + task.getId()).with(jwt())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(data)))
+                .andExpect(status().isOk());
+
+        var afterUpdate = mockMvc.perform(get(url).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertThatJson(afterUpdate).isArray().isEmpty();
+    }
+
+    @Test
+    public void testIndexRankedByRelevance() throws Exception {
+        var term = "term" + faker.number().digits(8);
+        var later = modelGenerator.getNewSavedTask();
+        later.setName("prefix words " + term);
+        taskRepository.save(later);
+        var earlier = modelGenerator.getNewSavedTask();
+        earlier.setName(term + " suffix");
+        taskRepository.save(earlier);
+
+        var body = mockMvc.perform(get("/api/tasks?sort=relevance&titleCont=" + term).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<TaskDTO> taskDTOS = om.readValue(body, new TypeReference<>() { });
+        assertThat(taskDTOS).extracting(TaskDTO::getId).containsExactly(earlier.getId(), later.getId());
+    }
+
+    @Test
+    public void testIndexTitleContEscapesWildcards() throws Exception {
+        var task = modelGenerator.getNewSavedTask();
+        task.setName("progress 100%_done");
+        taskRepository.save(task);
+
+        var body = mockMvc.perform(get("/api/tasks").param("titleCont", "0%_d").with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<TaskDTO> taskDTOS = om.readValue(body, new TypeReference<>() { });
+        assertThat(taskDTOS).extracting(TaskDTO::getId).contains(task.getId());
+        assertThat(taskDTOS).allSatisfy(dto -> assertThat(dto.getTitle()).contains("0%_d"));
+    }
+
+    @Test
+    public void testFacets() throws Exception {
+        var task = modelGenerator.getNewSavedTask();
+        var labelId = task.getLabels().iterator().next().getId();
+
+        var body = mockMvc.perform(get("/api/tasks/facets?labelIds=" + labelId).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThatJson(body).and(
+                o -> o.node("total").isEqualTo(1),
+                o -> o.node("status").isEqualTo(Map.of(task.getTaskStatus().getSlug(), 1)),
+                o -> o.node("assignee").isEqualTo(Map.of(String.valueOf(task.getAssignee().getId()), 1)),
+                o -> o.node("label").isObject().hasSize(2).containsEntry(String.valueOf(labelId), 1)
+        );
+    }
+
+    @Test
+    public void testSearch() throws Exception {
+        var word = "searchable" + faker.number().digits(8);
+        var task = modelGenerator.getNewSavedTask();
+        task.setDescription("Mentions " + word + " in the description");
+        taskRepository.save(task);
+
+        var url = "/api/tasks/search?q=" + word.substring(0, word.length() - 2);
+        var body = mockMvc.perform(get(url).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<TaskDTO> taskDTOS = om.readValue(body, new TypeReference<>() { });
+        assertThat(taskDTOS).extracting(TaskDTO::getId).containsExactly(task.getId());
+
+        mockMvc.perform(delete("/api/tasks/" + task.getId()).with(jwt()))
+                .andExpect(status().isNoContent());
+
+        var afterDelete = mockMvc.perform(get(url).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertThatJson(afterDelete).isArray().isEmpty();
+    }
+
+    @Test
+    public void testSearchFallbackMatchesIndexSemantics() {
+        var word = "fallback" + faker.number().digits(8);
+        var task = modelGenerator.getNewSavedTask();
+        task.setName("Other " + word);
+        task.setDescription("Mentions description" + word);
+        taskRepository.save(task);
+
+        var prefix = word.substring(0, word.length() - 2);
+        assertThat(taskRepository.findAll(specBuilder.search(prefix + " other", null)))
+                .extracting(Task::getId)
+                .containsExactly(task.getId());
+        assertThat(taskRepository.findAll(specBuilder.search(prefix + " missing" + word, null))).isEmpty();
+        assertThat(taskRepository.findAll(specBuilder.search("description" + prefix, task.getId()))).isEmpty();
+    }
+
+    @Test
+    public void testIndexStream() throws Exception {
+        var task = modelGenerator.getNewSavedTask();
+
+        var result = mockMvc.perform(get("/api/tasks?stream=true&assigneeId=" + task.getAssignee().getId())
+                        .with(jwt()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<TaskDTO> taskDTOS = om.readValue(body, new TypeReference<>() { });
+        assertThat(taskDTOS).extracting(TaskDTO::getId).contains(task.getId());
+        assertThat(taskDTOS).allSatisfy(dto -> assertThat(dto.getAssigneeId()).isEqualTo(task.getAssignee().getId()));
+    }
+
+    @Test
+    public void testIndexStreamNotValid() throws Exception {
+        mockMvc.perform(get("/api/tasks?stream=true&labelMode=some").with(jwt()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testExportNdjson() throws Exception {
+        var task = modelGenerator.getNewSavedTask();
+
+        var result = mockMvc.perform(get("/api/tasks/export").with(jwt())
+                        .param("assigneeId", String.valueOf(task.getAssignee().getId())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var taskDTOS = om.readerFor(TaskDTO.class).<TaskDTO>readValues(body).readAll();
+        assertThat(taskDTOS).extracting(TaskDTO::getId).contains(task.getId());
+        assertThat(body.lines()).hasSize(taskDTOS.size());
+    }
+
+    @Test
+    public void testImportCsv() throws Exception {
+        var status = taskStatusRepository.findAll().getFirst().getSlug();
+        var labelIds = labelRepository.findAll().stream().map(label -> String.valueOf(label.getId())).toList();
+        var titles = List.of(String.join(" ", faker.lorem().words(9)), String.join(" ", faker.lorem().words(9)));
+        var csv = String.join("\n",
+                "title,status,taskLabelIds,assignee_id",
+                titles.get(0) + "," + status + "," + String.join(";", labelIds) + ",",
+                "unknown status,no-such-status,,",
+                titles.get(1) + "," + status + ",,");
+
+        var request = post("/api/tasks/import").with(jwt())
+                .param("batchSize", "2")
+                .contentType("text/csv")
+                .content(csv);
+        var responseBody = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThatJson(responseBody).node("created").isEqualTo(2);
+        assertThatJson(responseBody).node("failed").isEqualTo(1);
+        assertThatJson(responseBody).node("failures").isObject().containsOnlyKeys("2");
+        assertThat(taskRepository.findByName(titles.get(0)).get().getLabels()).hasSize(labelIds.size());
+        assertThat(taskRepository.findByName(titles.get(1))).isPresent();
+    }
+
+    @Test
+    public void testIndexStatementCount() throws Exception {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        modelGenerator.getNewSavedTask();
+        var expected = countIndexStatements(statistics);
+
+        for (var i = 0; i < 5; i++) {
+            modelGenerator.getNewSavedTask();
+        }
+
+        assertThat(countIndexStatements(statistics)).isEqualTo(expected);
+    }
+
+    private long[] countIndexStatements(Statistics statistics) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/tasks").with(jwt()))
+                .andExpect(status().isOk());
+        var endpointCount = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        var spec = specBuilder.build(new TaskParamsDTO());
+        transactionTemplate.executeWithoutResult(s -> taskRepository.findAll(spec).forEach(taskMapper::map));
+        var entityCount = statistics.getPrepareStatementCount();
+
+        return new long[] {
+            endpointCount,
+            entityCount,
+            countStreamedStatements(statistics, "/api/tasks?stream=true"),
+            countStreamedStatements(statistics, "/api/tasks/export"),
+            countStreamedStatements(statistics, "/api/tasks/export?format=csv")
+        };
+    }
+
+    private long countStreamedStatements(Statistics statistics, String url) throws Exception {
+        statistics.clear();
+        var result = mockMvc.perform(get(url).with(jwt()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
     @Test
     public void testCreate() throws Exception {
         var index = faker.number().positive();
@@ -188,6 +576,125 @@ class TasksControllerTest {
         );
     }
 
+    @Test
+    public void testCreateWithUnknownReferences() throws Exception {
+        var title = String.join(" ", faker.lorem().words(9));
+        var data = new HashMap<>();
+        data.put("title", title);
+        data.put("status", taskStatusRepository.findAll().getFirst().getSlug());
+        data.put("assignee_id", Long.MAX_VALUE);
+
+        var request = post("/api/tasks").with(jwt())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(data));
+        mockMvc.perform(request)
+                .andExpect(status().isNotFound());
+
+        data.remove("assignee_id");
+        data.put("taskLabelIds", Set.of(Long.MAX_VALUE));
+        request = post("/api/tasks").with(jwt())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(data));
+        mockMvc.perform(request)
+                .andExpect(status().isNotFound());
+
+        assertThat(taskRepository.findByName(title)).isEmpty();
+    }
+
+    @Test
+    public void testCreateWithUnknownAssigneeOnGeneratedConstraintName() throws Exception {
+        var title = String.join(" ", faker.lorem().words(9));
+        var data = new HashMap<>();
+        data.put("title", title);
+        data.put("status", taskStatusRepository.findAll().getFirst().getSlug());
+        data.put("assignee_id", Long.MAX_VALUE);
+
+        var rename = "ALTER TABLE tasks RENAME CONSTRAINT %s TO %s";
+        var generatedName = "fk4vxkqgdf3e1ysr5agmx6ltd2q";
+        jdbcTemplate.execute(rename.formatted("fk_tasks_assignee", generatedName));
+        try {
+            var request = post("/api/tasks").with(jwt())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsString(data));
+            mockMvc.perform(request)
+                    .andExpect(status().isNotFound());
+        } finally {
+            jdbcTemplate.execute(rename.formatted(generatedName, "fk_tasks_assignee"));
+        }
+
+        assertThat(taskRepository.findByName(title)).isEmpty();
+    }
+
+    @Test
+    public void testCreateBatch() throws Exception {
+        var status = taskStatusRepository.findAll().getFirst().getSlug();
+        var titles = List.of(String.join(" ", faker.lorem().words(9)), String.join(" ", faker.lorem().words(9)));
+        var items = List.of(
+                Map.of("title", titles.get(0), "status", status),
+                Map.of("title", titles.get(1), "status", status, "taskLabelIds",
+                        labelRepository.findAll().stream().map(Label::getId).toList()),
+                Map.of("title", "unknown status", "status", "no-such-status"),
+                Map.of("title", "", "status", status)
+        );
+
+        var request = post("/api/tasks/batch").with(jwt())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(items));
+        var responseBody = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThatJson(responseBody).isArray().hasSize(4);
+        assertThatJson(responseBody).inPath("$[*].status").isEqualTo(List.of(201, 201, 404, 400));
+        assertThatJson(responseBody).inPath("$[1].task.title").isEqualTo(titles.get(1));
+        assertThat(taskRepository.findByName(titles.get(0))).isPresent();
+        assertThat(taskRepository.findByName(titles.get(1)).get().getLabels())
+                .hasSize(labelRepository.findAll().size());
+    }
+
+    @Test
+    public void testBulkUpdate() throws Exception {
+        var first = modelGenerator.getNewSavedTask();
+        var second = modelGenerator.getNewSavedTask();
+        var status = modelGenerator.getNewSavedTaskStatus();
+        var label = modelGenerator.getNewSavedLabel();
+        var removed = first.getLabels().iterator().next().getId();
+
+        var data = new HashMap<>();
+        data.put("ids", Set.of(first.getId(), second.getId()));
+        data.put("status", status.getSlug());
+        data.put("addLabelIds", Set.of(label.getId()));
+        data.put("removeLabelIds", Set.of(removed));
+
+        var request = patch("/api/tasks").with(jwt())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(data));
+        var responseBody = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertThatJson(responseBody).node("updated").isEqualTo(2);
+
+        for (var task : List.of(first, second)) {
+            var updated = taskRepository.findById(task.getId()).get();
+            var labelIds = updated.getLabels().stream().map(Label::getId).collect(Collectors.toSet());
+            assertThat(updated.getTaskStatus().getSlug()).isEqualTo(status.getSlug());
+            assertThat(updated.getVersion()).isEqualTo(task.getVersion() + 1);
+            assertThat(labelIds).contains(label.getId()).doesNotContain(removed);
+        }
+
+        var index = get("/api/tasks").with(jwt()).param("status", status.getSlug());
+        var indexBody = mockMvc.perform(index)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertThatJson(indexBody).isArray().hasSize(2);
+    }
+
     @Test
     public void testShow() throws Exception {
         var task = modelGenerator.getNewSavedTask();
@@ -211,6 +718,188 @@ class TasksControllerTest {
         );
     }
 
+    @Test
+    public void testBinaryFormats() throws Exception {
+        var task = modelGenerator.getNewSavedTask();
+
+        var cbor = mockMvc.perform(get("/api/tasks/" + task.getId()).with(jwt())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        var shown = new CBORMapper().readTree(cbor);
+        assertThat(shown.get("title").asText()).isEqualTo(task.getName());
+        assertThat(shown.get("assignee_id").asLong()).isEqualTo(task.getAssignee().getId());
+
+        var smile = MediaType.parseMediaType("application/x-jackson-smile");
+        var title = faker.lorem().word();
+        var data = Map.of("title", title, "status", task.getTaskStatus().getSlug());
+        var request = put("/api/tasks/" + task.getId()).with(jwt())
+                .contentType(smile)
+                .accept(smile)
+                .content(new SmileMapper().writeValueAsBytes(data));
+        var updated = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        assertThat(new SmileMapper().readTree(updated).get("title").asText()).isEqualTo(title);
+        assertThat(taskRepository.findById(task.getId()).get().getDescription()).isEqualTo(task.getDescription());
+    }
+
+    @Test
+    public void testShowFields() throws Exception {
+        var task = modelGenerator.getNewSavedTask();
+
+        var request = get("/api/tasks/" + task.getId()).with(jwt())
+                .param("fields", "id,title,status");
+        var responseBody = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThatJson(responseBody).and(
+                o -> o.node("id").isEqualTo(task.getId()),
+                o -> o.node("title").isEqualTo(task.getName()),
+                o -> o.node("status").isEqualTo(task.getTaskStatus().getSlug()),
+                o -> o.node("content").isAbsent(),
+                o -> o.node("taskLabelIds").isAbsent(),
+                o -> o.node("index").isAbsent()
+        );
+
+        mockMvc.perform(get("/api/tasks").with(jwt()).param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testShowNotModified() throws Exception {
+        var task = modelGenerator.getNewSavedTask();
+        var url = "/api/tasks/" + task.getId();
+
+        var etag = mockMvc.perform(get(url).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        mockMvc.perform(get(url).with(jwt()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        task.setName(faker.lorem().sentence());
+        taskRepository.save(task);
+
+        var changed = mockMvc.perform(get(url).with(jwt()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    @Test
+    public void testFilteredIndexNotModifiedTracksMembership() throws Exception {
+        var leaving = modelGenerator.getNewSavedTask();
+        var entering = modelGenerator.getNewSavedTask();
+        var assignee = leaving.getAssignee();
+        var url = "/api/tasks?assigneeId=" + assignee.getId();
+        var etag = mockMvc.perform(get(url).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(url).with(jwt()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        leaving.setAssignee(entering.getAssignee());
+        taskRepository.save(leaving);
+        entering.setAssignee(assignee);
+        taskRepository.save(entering);
+
+        var body = mockMvc.perform(get(url).with(jwt()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<TaskDTO> taskDTOS = om.readValue(body, new TypeReference<>() { });
+        assertThat(taskDTOS).extracting(TaskDTO::getId).containsExactly(entering.getId());
+    }
+
+    @Test
+    public void testIndexEmptyCandidates() throws Exception {
+        var task = modelGenerator.getNewSavedTask();
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        var status = modelGenerator.getNewSavedTaskStatus();
+        var labelId = task.getLabels().iterator().next().getId();
+        var url = "/api/tasks?status=" + status.getSlug() + "&labelIds=" + labelId;
+        mockMvc.perform(get(url).with(jwt()))
+                .andExpect(status().isOk());
+
+        statistics.clear();
+        var response = mockMvc.perform(get(url).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        assertThat(response.getHeader("X-Total-Count")).isEqualTo("0");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    public void testETagVariesByFormat() throws Exception {
+        var task = modelGenerator.getNewSavedTask();
+        var url = "/api/tasks/" + task.getId();
+        var json = mockMvc.perform(get(url).with(jwt()).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        var cbor = mockMvc.perform(get(url).with(jwt()).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        assertThat(json.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+        assertThat(cbor.getHeader(HttpHeaders.ETAG)).isNotEqualTo(json.getHeader(HttpHeaders.ETAG));
+        mockMvc.perform(get(url).with(jwt())
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, json.getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testUpdateIfMatch() throws Exception {
+        var task = modelGenerator.getNewSavedTask();
+        var url = "/api/tasks/" + task.getId();
+        var etag = mockMvc.perform(get(url + "?fields=title").with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        modelGenerator.getNewSavedTaskStatus();
+
+        var data = new HashMap<>();
+        data.put("title", faker.lorem().word());
+        mockMvc.perform(put(url).with(jwt())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(data)))
+                .andExpect(status().isOk());
+
+        data.put("title", faker.lorem().word());
+        mockMvc.perform(put(url).with(jwt())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(data)))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(taskRepository.findById(task.getId()).get().getVersion()).isEqualTo(task.getVersion() + 1);
+    }
+
     @Test
     public void testUpdate() throws Exception {
         var testTask = modelGenerator.getNewSavedTask();
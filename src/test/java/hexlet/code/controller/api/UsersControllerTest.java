@@ -2,6 +2,7 @@ package hexlet.code.controller.api;
 
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -10,9 +11,11 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 
 import hexlet.code.util.ModelGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor;
 
@@ -23,20 +26,31 @@ import java.util.HashMap;
 import com.fasterxml.jackson.core.type.TypeReference;
 import hexlet.code.dto.user.UserDTO;
 import hexlet.code.mapper.UserMapper;
+import hexlet.code.model.User;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.service.CustomUserDetailsService;
+import hexlet.code.service.UserPrincipal;
 import net.datafaker.Faker;
 import org.springframework.web.context.WebApplicationContext;
+import hexlet.code.util.JWTUtils;
 import hexlet.code.util.Utils;
 
 
@@ -68,6 +82,15 @@ class UsersControllerTest {
     @Autowired
     private ModelGenerator modelGenerator;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
     private JwtRequestPostProcessor token;
 
     @BeforeEach
@@ -77,7 +100,11 @@ class UsersControllerTest {
                 .apply(springSecurity())
                 .build();
 
-        token = jwt().jwt(builder -> builder.subject("hexlet@example.com"));
+        token = tokenFor(userRepository.findByEmail("hexlet@example.com").get());
+    }
+
+    private static JwtRequestPostProcessor tokenFor(User user) {
+        return jwt().jwt(builder -> builder.subject(user.getEmail()).claim(JWTUtils.USER_ID_CLAIM, user.getId()));
     }
 
     @Test
@@ -95,6 +122,18 @@ class UsersControllerTest {
         Assertions.assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
     }
 
+    @Test
+    public void testIndexFields() throws Exception {
+        var body = mockMvc.perform(get("/api/users").with(jwt()).param("fields", "id,email"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThatJson(body).isArray().isNotEmpty();
+        assertThatJson(body).inPath("[0]").isObject().containsOnlyKeys("id", "email");
+    }
+
     @Test
     public void testCreate() throws Exception {
         var firstName = faker.name().firstName();
@@ -185,6 +224,30 @@ class UsersControllerTest {
         );
     }
 
+    @Test
+    public void testUpdateIfMatchMismatch() throws Exception {
+        var user = modelGenerator.getNewSavedUser();
+        var url = "/api/users/" + user.getId();
+        var etag = mockMvc.perform(get(url).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        var concurrentName = faker.name().firstName();
+        user.setFirstName(concurrentName);
+        userRepository.save(user);
+
+        var data = new HashMap<>();
+        data.put("firstName", faker.name().firstName());
+        mockMvc.perform(put(url).with(tokenFor(user))
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(data)))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(userRepository.findById(user.getId()).get().getFirstName()).isEqualTo(concurrentName);
+    }
+
     @Test
     public void testUpdateAnotherUser() throws Exception {
         var testUser = modelGenerator.getNewSavedUser();
@@ -204,7 +267,7 @@ class UsersControllerTest {
     @Test
     public void testSelfDestroy() throws Exception {
         var user = modelGenerator.getNewSavedUser();
-        var userToken = jwt().jwt(builder -> builder.subject(user.getEmail()));
+        var userToken = tokenFor(user);
 
         assertTrue(userRepository.existsById(user.getId()));
 
@@ -232,7 +295,7 @@ class UsersControllerTest {
         var task = modelGenerator.getNewSavedTask();
         var user = task.getAssignee();
 
-        var userToken = jwt().jwt(builder -> builder.subject(user.getEmail()));
+        var userToken = tokenFor(user);
 
         var request = delete("/api/users/" + user.getId()).with(userToken);
 
@@ -291,4 +354,120 @@ class UsersControllerTest {
         mockMvc.perform(delete("/api/users/1"))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    public void testBasicCredentialCache() throws Exception {
+        var user = modelGenerator.getNewSavedUser();
+        user.setPassword(encoder.encode("secret"));
+        userRepository.save(user);
+        var latency = meterRegistry.get("password.hashing.latency").tag("operation", "matches").timer();
+        var before = latency.count();
+
+        for (var i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/users/" + user.getId()).with(httpBasic(user.getEmail(), "secret")))
+                    .andExpect(status().isOk());
+        }
+        assertThat(latency.count()).isEqualTo(before + 1);
+
+        var data = new HashMap<>();
+        data.put("password", "changed");
+        var request = put("/api/users/" + user.getId())
+                .with(tokenFor(user))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(data));
+        mockMvc.perform(request)
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/" + user.getId()).with(httpBasic(user.getEmail(), "secret")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/users/" + user.getId()).with(httpBasic(user.getEmail(), "changed")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testUserDetailsCache() throws Exception {
+        var user = modelGenerator.getNewSavedUser();
+        var hits = meterRegistry.get("cache.gets").tags("cache", "auth.users", "result", "hit").functionCounter();
+        var before = hits.count();
+
+        var principal = userDetailsService.loadUserByUsername(user.getEmail());
+        assertThat(principal).isInstanceOf(UserPrincipal.class);
+        assertThat(((UserPrincipal) principal).id()).isEqualTo(user.getId());
+        assertThat(userDetailsService.loadUserByUsername(user.getEmail())).isSameAs(principal);
+        assertThat(hits.count()).isEqualTo(before + 1);
+        assertTrue(userDetailsService.userExists(user.getEmail()));
+
+        mockMvc.perform(delete("/api/users/" + user.getId())
+                        .with(tokenFor(user)))
+                .andExpect(status().isNoContent());
+
+        assertFalse(userDetailsService.userExists(user.getEmail()));
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername(user.getEmail()))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    @Test
+    public void testChangePassword() {
+        var user = modelGenerator.getNewSavedUser();
+        user.setPassword(encoder.encode("secret"));
+        userRepository.save(user);
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(user.getEmail(), "secret"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(user.getEmail(), null, List.of()));
+        try {
+            assertThatThrownBy(() -> userDetailsService.changePassword("wrong", "changed"))
+                    .isInstanceOf(BadCredentialsException.class);
+            userDetailsService.changePassword("secret", "changed");
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        assertThat(encoder.matches("changed", userDetailsService.loadUserByUsername(user.getEmail()).getPassword()))
+                .isTrue();
+        assertThatThrownBy(() -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), "secret")))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    public void testOwnershipUsesTokenClaim() throws Exception {
+        var user = modelGenerator.getNewSavedUser();
+        var other = modelGenerator.getNewSavedUser();
+        other.setPassword(encoder.encode("secret"));
+        userRepository.save(other);
+        var foreignClaim = jwt().jwt(builder -> builder.subject(user.getEmail())
+                .claim(JWTUtils.USER_ID_CLAIM, other.getId()));
+        var noClaim = jwt().jwt(builder -> builder.subject(user.getEmail()));
+
+        mockMvc.perform(delete("/api/users/" + user.getId()).with(foreignClaim))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/users/" + user.getId()).with(noClaim))
+                .andExpect(status().isForbidden());
+        assertTrue(userRepository.existsById(user.getId()));
+
+        mockMvc.perform(delete("/api/users/" + user.getId()).with(httpBasic(other.getEmail(), "secret")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void testAuthenticatedPrincipalHasNoPassword() {
+        var user = modelGenerator.getNewSavedUser();
+        user.setPassword(encoder.encode("secret"));
+        userRepository.save(user);
+
+        Authentication previous = null;
+        for (var i = 0; i < 2; i++) {
+            var request = new UsernamePasswordAuthenticationToken(user.getEmail(), "secret");
+            request.setDetails("request-" + i);
+            var authentication = authenticationManager.authenticate(request);
+            assertThat(authentication.getCredentials()).isNull();
+            assertThat(((UserPrincipal) authentication.getPrincipal()).getPassword()).isNull();
+            assertThat(authentication.getDetails()).isEqualTo("request-" + i);
+            assertThat(authentication).isNotSameAs(previous);
+            previous = authentication;
+        }
+        assertThat(userDetailsService.loadUserByUsername(user.getEmail()).getPassword())
+                .isEqualTo(user.getPassword());
+    }
 }
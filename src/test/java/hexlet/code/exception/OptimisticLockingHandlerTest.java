@@ -0,0 +1,44 @@
+package hexlet.code.exception;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+class OptimisticLockingHandlerTest {
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new ConflictingController())
+                .setControllerAdvice(new OptimisticLockingHandler())
+                .build();
+    }
+
+    @Test
+    public void testConflict() throws Exception {
+        mockMvc.perform(put("/conflict"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    public void testConflictWithIfMatch() throws Exception {
+        mockMvc.perform(put("/conflict").header(HttpHeaders.IF_MATCH, "\"1-1-etag\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @RestController
+    static class ConflictingController {
+        @PutMapping("/conflict")
+        public void update() {
+            throw new OptimisticLockingFailureException("Row was updated by another transaction");
+        }
+    }
+}
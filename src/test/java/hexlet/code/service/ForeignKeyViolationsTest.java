@@ -0,0 +1,90 @@
+package hexlet.code.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.model.Task;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Set;
+
+class ForeignKeyViolationsTest {
+    private static final String INSERT = "insert into tasks (assignee_id, name, id) values (?, ?, ?)";
+
+    private UserRepository userRepository;
+    private LabelRepository labelRepository;
+    private ForeignKeyViolations violations;
+    private Task task;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository = mock(UserRepository.class);
+        labelRepository = mock(LabelRepository.class);
+        violations = new ForeignKeyViolations(userRepository, mock(TaskStatusRepository.class), labelRepository);
+
+        var assignee = new User();
+        assignee.setId(42);
+        task = new Task();
+        task.setAssignee(assignee);
+    }
+
+    @Test
+    public void testConstraintNameFromPostgresMessage() {
+        var e = postgresViolation("23503", "ERROR",
+                "insert or update on table \"task_label\" violates foreign key constraint \"fk_task_label_label\"",
+                "fk_task_label_label");
+
+        assertThat(violations.translate(e, List.of(task)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Label of the task not found");
+        verifyNoInteractions(userRepository, labelRepository);
+    }
+
+    @Test
+    public void testLocalizedMessageWithGeneratedConstraintName() {
+        var e = postgresViolation("23503", "FEHLER",
+                "Einfügen oder Aktualisieren in Tabelle »tasks« verletzt Fremdschlüssel-Constraint "
+                        + "»fk4vxkqgdf3e1ysr5agmx6ltd2q«",
+                "fk4vxkqgdf3e1ysr5agmx6ltd2q");
+        when(userRepository.findExistingIds(any())).thenReturn(Set.of());
+
+        assertThat(violations.translate(e, List.of(task)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Users with ids [42] not found");
+    }
+
+    @Test
+    public void testOtherViolationsPassThrough() {
+        var e = postgresViolation("23505", "ERROR",
+                "duplicate key value violates unique constraint \"uk_labels_name\"", "uk_labels_name");
+
+        assertThat(violations.translate(e, List.of(task))).isSameAs(e);
+    }
+
+    private static DataIntegrityViolationException postgresViolation(String sqlState, String severity,
+                                                                     String message, String constraint) {
+        var serverError = new ServerErrorMessage(String.join("\0",
+                "S" + severity, "C" + sqlState, "M" + message, "n" + constraint, "ttasks"));
+        var sqlException = new PSQLException(serverError);
+        var constraintName = new PostgreSQLDialect().getViolatedConstraintNameExtractor()
+                .extractConstraintName(sqlException);
+        var violation = new ConstraintViolationException("could not execute statement", sqlException, INSERT,
+                constraintName);
+        return new DataIntegrityViolationException(violation.getMessage(), violation);
+    }
+}
@@ -40,6 +40,7 @@ public final class ModelGenerator {
     public User getNewSavedUser() {
         var user = Instancio.of(User.class)
                 .ignore(Select.field(User::getId))
+                .ignore(Select.field(User::getVersion))
                 .supply(Select.field(User::getFirstName), () -> faker.name().firstName())
                 .supply(Select.field(User::getLastName), () -> faker.name().lastName())
                 .supply(Select.field(User::getEmail), () -> "user" + emailNum++ + "@example.com")
@@ -52,6 +53,7 @@ public final class ModelGenerator {
     public TaskStatus getNewSavedTaskStatus() {
         var taskStatus = Instancio.of(TaskStatus.class)
                 .ignore(Select.field(TaskStatus::getId))
+                .ignore(Select.field(TaskStatus::getVersion))
                 .supply(Select.field(TaskStatus::getName), () -> faker.lorem().word())
                 .supply(Select.field(TaskStatus::getSlug), () -> "status" + statusNum++)
                 .create();
@@ -62,6 +64,7 @@ public final class ModelGenerator {
     public Task getNewSavedTask() {
         var task = Instancio.of(Task.class)
                 .ignore(Select.field(Task::getId))
+                .ignore(Select.field(Task::getVersion))
                 .supply(Select.field(Task::getName), () -> String.join(" ", faker.lorem().words(9)))
                 .supply(Select.field(Task::getIndex), () -> faker.number().positive())
                 .supply(Select.field(Task::getDescription), () -> faker.lorem().paragraph())
@@ -79,6 +82,7 @@ public final class ModelGenerator {
     public Label getNewSavedLabel() {
         var label = Instancio.of(Label.class)
                 .ignore(Select.field(Label::getId))
+                .ignore(Select.field(Label::getVersion))
                 .supply(Select.field(Label::getName), () -> "label" + labelNum++)
                 .create();
         labelRepository.save(label);